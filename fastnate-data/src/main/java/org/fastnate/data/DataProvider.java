@@ -17,6 +17,10 @@ import org.fastnate.generator.EntitySqlGenerator;
  * If references to other DataProviders are used in the constructor, the {@link #buildEntities()} method of these
  * providers are called before our {@link #buildEntities()}.
  *
+ * If the {@link EntityImporter#BUILD_PARALLELISM_KEY build parallelism} is set, the entities of providers that don't
+ * depend on each other are built in parallel. A provider must not access any other provider in that case, except the
+ * ones from its constructor.
+ *
  * @author Andreas Penski
  * @author Tobias Liefke
  */
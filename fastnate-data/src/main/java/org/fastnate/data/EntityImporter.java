@@ -5,8 +5,11 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
@@ -16,16 +19,26 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
+import org.fastnate.generator.CsvEntitySqlGenerator;
 import org.fastnate.generator.EntitySqlGenerator;
+import org.fastnate.generator.ShardedEntitySqlGenerator;
 import org.fastnate.generator.context.GeneratorContext;
 import org.fastnate.generator.context.ModelException;
 import org.reflections.Reflections;
@@ -43,6 +56,26 @@ import org.reflections.Reflections;
 @Getter
 public final class EntityImporter {
 
+	/**
+	 * Writes the SQL of a group of independent providers, which is interleaved with the SQL of the other groups.
+	 */
+	private static final class GroupSqlGenerator extends EntitySqlGenerator {
+
+		GroupSqlGenerator(final Writer writer, final GeneratorContext context) {
+			super(writer, context);
+		}
+
+		/**
+		 * Writes the pending statements of the current provider and commits its transaction, as the SQL of another
+		 * group may follow.
+		 */
+		void finishProvider() throws IOException {
+			flush();
+			writeTransactionEnd();
+		}
+
+	}
+
 	/**
 	 * Starts the entity importer from the command line.
 	 *
@@ -95,6 +128,24 @@ public final class EntityImporter {
 	/** Settings key for the encoding of the generated SQL file. */
 	public static final String OUTPUT_ENCODING_KEY = "fastnate.data.sql.output.encoding";
 
+	/**
+	 * Settings key for the folder of CSV files. If set, all rows are written to CSV files in that folder and the
+	 * generated SQL file imports these files. Not used for sharded SQL files.
+	 */
+	public static final String CSV_OUTPUT_FOLDER_KEY = "fastnate.data.csv.output.folder";
+
+	/**
+	 * Settings key for the maximum count of characters in one SQL file. If set, the SQL is split into several files
+	 * and a manifest with the dependencies between these files.
+	 */
+	public static final String SHARD_SIZE_KEY = "fastnate.data.sql.shard.size";
+
+	/**
+	 * Settings key to split the SQL into one file for every group of related tables, together with a manifest with
+	 * the dependencies between these files.
+	 */
+	public static final String SHARD_TABLES_KEY = "fastnate.data.sql.shard.tables";
+
 	/** Settings key for a part to write into the output file before the generated content. */
 	public static final String PREFIX_KEY = "fastnate.data.sql.prefix";
 
@@ -104,6 +155,71 @@ public final class EntityImporter {
 	/** Settings key for the packages to scan. */
 	public static final String PACKAGES_KEY = "fastnate.data.provider.packages";
 
+	/**
+	 * Settings key for the count of threads that generate the SQL of independent data providers in parallel.
+	 *
+	 * Data providers that depend on each other (by the parameters of their constructors) form a group, which is written
+	 * by one thread with its own {@link GeneratorContext}. The SQL of every provider is buffered and written in the
+	 * {@link DataProvider#getOrder() order} of the providers, just like in a sequential generation. Providers of
+	 * different groups must not reference the entities of each other. As the SQL of the groups is interleaved, the
+	 * transaction of the {@link GeneratorContext#COMMIT_INTERVAL_KEY commit interval} is committed after every provider
+	 * and no {@link GeneratorContext#IDENTITY_VARIABLES_KEY identity variables} are used. Not used for CSV files or
+	 * sharded SQL files. Defaults to {@code 1}, which writes all providers sequentially.
+	 */
+	public static final String PARALLELISM_KEY = "fastnate.data.parallelism";
+
+	/**
+	 * Settings key for the count of {@link GeneratorContext#EXPLICIT_IDS_KEY explicit IDs} that are reserved for every
+	 * group of providers that is written in {@link #PARALLELISM_KEY parallel}.
+	 *
+	 * The first group starts with the {@link GeneratorContext#EXPLICIT_IDS_START_KEY start of the explicit IDs}, every
+	 * following group after the range of its predecessor.
+	 */
+	public static final String PARALLEL_ID_RANGE_KEY = "fastnate.data.parallel.id.range";
+
+	/**
+	 * Settings key for the count of threads that {@link DataProvider#buildEntities() build the entities} of the data
+	 * providers.
+	 *
+	 * A provider is built as soon as all providers from the parameters of its constructor are built. Defaults to
+	 * {@code 1}, which builds all providers sequentially.
+	 */
+	public static final String BUILD_PARALLELISM_KEY = "fastnate.data.build.parallelism";
+
+	private static final long DEFAULT_PARALLEL_ID_RANGE = 10000000;
+
+	private static void buildEntities(final DataProvider provider) {
+		try {
+			provider.buildEntities();
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static <T> T getResult(final Future<T> result) throws IOException {
+		try {
+			return result.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for the generated SQL");
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof UncheckedIOException) {
+				throw ((UncheckedIOException) cause).getCause();
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
 	private final Properties settings;
 
 	private final File dataFolder;
@@ -112,6 +228,9 @@ public final class EntityImporter {
 
 	private final List<DataProvider> dataProviders = new ArrayList<>();
 
+	/** The providers that are parameters of the constructor of a provider, mapped by that provider. */
+	private final Map<DataProvider, List<DataProvider>> providerDependencies = new HashMap<>();
+
 	/**
 	 * Creates a new default instance of an EntityImporter.
 	 */
@@ -159,6 +278,7 @@ public final class EntityImporter {
 		int maxOrder = Integer.MIN_VALUE;
 		final Class<?>[] parameterTypes = constructor.getParameterTypes();
 		final Object[] params = new Object[parameterTypes.length];
+		final List<DataProvider> dependencies = new ArrayList<>();
 		for (int i = 0; i < parameterTypes.length; i++) {
 			final Class<?> parameterType = parameterTypes[i];
 			if (parameterType == File.class) {
@@ -172,6 +292,7 @@ public final class EntityImporter {
 					return false;
 				}
 				params[i] = parameter;
+				dependencies.add(parameter);
 				final int order = parameter.getOrder();
 				if (order > maxOrder) {
 					maxOrder = order;
@@ -189,12 +310,65 @@ public final class EntityImporter {
 				index--;
 			}
 			this.dataProviders.add(index, provider);
+			this.providerDependencies.put(provider, dependencies);
 			return true;
 		} catch (final InstantiationException | IllegalAccessException | InvocationTargetException e) {
 			throw new IllegalArgumentException(e);
 		}
 	}
 
+	private EntitySqlGenerator createGenerator(final Writer writer) throws IOException {
+		final String csvFolder = this.settings.getProperty(CSV_OUTPUT_FOLDER_KEY);
+		if (StringUtils.isEmpty(csvFolder)) {
+			return new EntitySqlGenerator(writer, this.context);
+		}
+		final File folder = new File(csvFolder);
+		if (!folder.isDirectory() && !folder.mkdirs()) {
+			throw new IOException("Can't create folder for CSV files: " + folder.getAbsolutePath());
+		}
+		return new CsvEntitySqlGenerator(folder, writer, this.context);
+	}
+
+	/**
+	 * Finds the groups of providers that are independent from each other.
+	 *
+	 * @return all groups of providers that depend on each other, in the order of their first provider
+	 */
+	private List<List<DataProvider>> findIndependentProviders() {
+		// Find the root of the group for every provider
+		final Map<DataProvider, DataProvider> roots = new HashMap<>();
+		for (final DataProvider provider : this.dataProviders) {
+			final DataProvider root = findRoot(roots, provider);
+			for (final DataProvider dependency : this.providerDependencies.get(provider)) {
+				final DataProvider dependencyRoot = findRoot(roots, dependency);
+				if (dependencyRoot != root) {
+					roots.put(dependencyRoot, root);
+				}
+			}
+		}
+
+		// Collect the providers of every group
+		final Map<DataProvider, List<DataProvider>> groups = new LinkedHashMap<>();
+		for (final DataProvider provider : this.dataProviders) {
+			final DataProvider root = findRoot(roots, provider);
+			List<DataProvider> group = groups.get(root);
+			if (group == null) {
+				group = new ArrayList<>();
+				groups.put(root, group);
+			}
+			group.add(provider);
+		}
+		return new ArrayList<>(groups.values());
+	}
+
+	private DataProvider findRoot(final Map<DataProvider, DataProvider> roots, final DataProvider provider) {
+		DataProvider root = provider;
+		for (DataProvider parent = roots.get(root); parent != null; parent = roots.get(root)) {
+			root = parent;
+		}
+		return root;
+	}
+
 	/**
 	 * Searches for a data provider of the given type.
 	 *
@@ -230,10 +404,23 @@ public final class EntityImporter {
 	 *             if one of the data importers or the file writer throws one
 	 */
 	public void importData(final File targetFile) throws IOException {
-		try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(targetFile),
-				Charset.forName(this.settings.getProperty(OUTPUT_ENCODING_KEY, "UTF-8"))))) {
-			importData(writer);
-			log.info("'{}' generated.", targetFile.getAbsolutePath());
+		final Charset encoding = Charset.forName(this.settings.getProperty(OUTPUT_ENCODING_KEY, "UTF-8"));
+		final long shardSize = Long.parseLong(this.settings.getProperty(SHARD_SIZE_KEY, "0"));
+		final boolean shardTables = Boolean.parseBoolean(this.settings.getProperty(SHARD_TABLES_KEY, "false"));
+		if (shardSize > 0 || shardTables) {
+			final ShardedEntitySqlGenerator generator = new ShardedEntitySqlGenerator(
+					targetFile.getAbsoluteFile().getParentFile(), StringUtils.removeEnd(targetFile.getName(), ".sql"),
+					encoding, this.context);
+			generator.setMaxShardSize(shardSize);
+			generator.setSplitTableGroups(shardTables);
+			importData(generator);
+			log.info("'{}' generated.", generator.getManifest().getAbsolutePath());
+		} else {
+			try (BufferedWriter writer = new BufferedWriter(
+					new OutputStreamWriter(new FileOutputStream(targetFile), encoding))) {
+				importData(writer);
+				log.info("'{}' generated.", targetFile.getAbsolutePath());
+			}
 		}
 	}
 
@@ -247,22 +434,54 @@ public final class EntityImporter {
 	 *             if the generator throws an exception
 	 */
 	public void importData(final Writer writer) throws IOException {
-		try (EntitySqlGenerator generator = new EntitySqlGenerator(writer, this.context)) {
+		final int parallelism = Integer.parseInt(this.settings.getProperty(PARALLELISM_KEY, "1"));
+		if (parallelism > 1 && StringUtils.isEmpty(this.settings.getProperty(CSV_OUTPUT_FOLDER_KEY))) {
+			importData(new EntitySqlGenerator(writer, this.context), parallelism);
+		} else {
+			importData(createGenerator(writer));
+		}
+	}
+
+	/**
+	 * Asks the data providers to generate their entities and writes the SQL with the given generator.
+	 *
+	 * @param sqlGenerator
+	 *            the generator of the SQL, closed at the end
+	 *
+	 * @throws IOException
+	 *             if the generator throws an exception
+	 */
+	private void importData(final EntitySqlGenerator sqlGenerator) throws IOException {
+		importData(sqlGenerator, 1);
+	}
+
+	/**
+	 * Asks the data providers to generate their entities and writes the SQL with the given generator.
+	 *
+	 * @param sqlGenerator
+	 *            the generator of the SQL, closed at the end
+	 * @param parallelism
+	 *            the count of threads that write the SQL of {@link #PARALLELISM_KEY independent providers}
+	 *
+	 * @throws IOException
+	 *             if the generator throws an exception
+	 */
+	private void importData(final EntitySqlGenerator sqlGenerator, final int parallelism) throws IOException {
+		try (EntitySqlGenerator generator = sqlGenerator) {
 			try {
 				log.info("Using {} for SQL generation.", this.context.getDialect().getClass().getSimpleName());
-				for (final DataProvider provider : this.dataProviders) {
-					provider.buildEntities();
-				}
+				buildEntities(Integer.parseInt(this.settings.getProperty(BUILD_PARALLELISM_KEY, "1")));
 
 				generator.writeComment("Generated by FastNate EntityImporter for all found DataProvider instances.");
 
 				writePropertyPart(generator, PREFIX_KEY);
 
-				for (final DataProvider provider : this.dataProviders) {
-					generator.getWriter().write("\n");
-					generator.writeComment("Data from " + provider.getClass().getSimpleName());
-					provider.writeEntities(generator);
-					log.info("Generated SQL for {}", provider.getClass());
+				if (parallelism > 1) {
+					writeEntities(generator, parallelism);
+				} else {
+					for (final DataProvider provider : this.dataProviders) {
+						writeEntities(generator, provider);
+					}
 				}
 
 				writePropertyPart(generator, POSTFIX_KEY);
@@ -277,6 +496,44 @@ public final class EntityImporter {
 		}
 	}
 
+	/**
+	 * Asks all providers to build their entities.
+	 *
+	 * @param parallelism
+	 *            the maximum count of threads that build the entities
+	 * @throws IOException
+	 *             if one of the providers throws one
+	 */
+	private void buildEntities(final int parallelism) throws IOException {
+		if (parallelism <= 1) {
+			for (final DataProvider provider : this.dataProviders) {
+				provider.buildEntities();
+			}
+			return;
+		}
+
+		final ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+		try {
+			// Every provider is located after its dependencies, so their builds are always scheduled up to now
+			final Map<DataProvider, CompletableFuture<Void>> builds = new HashMap<>();
+			for (final DataProvider provider : this.dataProviders) {
+				final List<DataProvider> dependencies = this.providerDependencies.get(provider);
+				final CompletableFuture<?>[] dependencyBuilds = new CompletableFuture<?>[dependencies.size()];
+				for (int i = 0; i < dependencyBuilds.length; i++) {
+					dependencyBuilds[i] = builds.get(dependencies.get(i));
+				}
+				builds.put(provider, CompletableFuture.allOf(dependencyBuilds)
+						.thenRunAsync(() -> buildEntities(provider), executor));
+			}
+
+			for (final DataProvider provider : this.dataProviders) {
+				getResult(builds.get(provider));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
 	/**
 	 * Fills the {@link #dataProviders} with matching providers found in the class path.
 	 */
@@ -305,7 +562,8 @@ public final class EntityImporter {
 
 			for (final Iterator<Class<? extends DataProvider>> iterator = providers.iterator(); iterator.hasNext();) {
 				final Class<? extends DataProvider> providerClass = iterator.next();
-				if (Modifier.isAbstract(providerClass.getModifiers())) {
+				if (Modifier.isAbstract(providerClass.getModifiers()) || providerClass.isAnonymousClass()) {
+					// Anonymous providers are created by their enclosing code
 					iterator.remove();
 				} else {
 					final Constructor<?>[] constructors = providerClass.getConstructors();
@@ -325,6 +583,111 @@ public final class EntityImporter {
 		}
 	}
 
+	/**
+	 * Writes the entities of a provider with the given generator.
+	 *
+	 * @param generator
+	 *            the current generator
+	 * @param provider
+	 *            the provider of the entities
+	 * @throws IOException
+	 *             if the generator throws one
+	 */
+	private void writeEntities(final EntitySqlGenerator generator, final DataProvider provider) throws IOException {
+		generator.getWriter().write("\n");
+		generator.writeComment("Data from " + provider.getClass().getSimpleName());
+		provider.writeEntities(generator);
+		generator.flush();
+		log.info("Generated SQL for {}", provider.getClass());
+	}
+
+	/**
+	 * Writes the entities of all groups of independent providers in parallel.
+	 *
+	 * @param generator
+	 *            the generator that receives the SQL of all groups
+	 * @param parallelism
+	 *            the maximum count of threads
+	 * @throws IOException
+	 *             if one of the generators throws one
+	 */
+	private void writeEntities(final EntitySqlGenerator generator, final int parallelism) throws IOException {
+		final List<List<DataProvider>> groups = findIndependentProviders();
+		final long idRange = Long.parseLong(
+				this.settings.getProperty(PARALLEL_ID_RANGE_KEY, String.valueOf(DEFAULT_PARALLEL_ID_RANGE)));
+		final ExecutorService executor = Executors
+				.newFixedThreadPool(Math.max(1, Math.min(parallelism, groups.size())));
+		try {
+			final List<Future<List<String>>> results = new ArrayList<>(groups.size());
+			for (int i = 0; i < groups.size(); i++) {
+				final List<DataProvider> group = groups.get(i);
+				final GeneratorContext groupContext = new GeneratorContext(this.context);
+				final long idStart = this.context.getExplicitIdsStart() + i * idRange;
+				groupContext.setExplicitIdsStart(idStart);
+				// The variables of the session would be overwritten by the interleaved SQL of the other groups
+				groupContext.setIdentityVariables(0);
+				results.add(executor.submit(() -> writeEntities(group, groupContext, idStart + idRange)));
+			}
+
+			// Collect the SQL of every provider and the final SQL of every group
+			final Map<DataProvider, String> providerSql = new HashMap<>();
+			final StringBuilder groupEnds = new StringBuilder();
+			for (int i = 0; i < groups.size(); i++) {
+				final List<DataProvider> group = groups.get(i);
+				final List<String> sql = getResult(results.get(i));
+				for (int j = 0; j < group.size(); j++) {
+					providerSql.put(group.get(j), sql.get(j));
+				}
+				groupEnds.append(sql.get(group.size()));
+			}
+
+			// Write the SQL in the order of the providers, followed by the ends of the groups in the order of their IDs
+			for (final DataProvider provider : this.dataProviders) {
+				generator.getWriter().write(providerSql.get(provider));
+			}
+			generator.getWriter().write(groupEnds.toString());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Writes the entities of a group of providers into a buffer for every provider.
+	 *
+	 * @param group
+	 *            the providers that depend on each other
+	 * @param groupContext
+	 *            the context that is used for the providers of the group
+	 * @param idEnd
+	 *            the first explicit ID that is reserved for the next group
+	 * @return the SQL of every provider of the group, followed by the SQL that is written when the generator is closed
+	 * @throws IOException
+	 *             if the generator throws one
+	 */
+	private List<String> writeEntities(final List<DataProvider> group, final GeneratorContext groupContext,
+			final long idEnd) throws IOException {
+		final StringWriter buffer = new StringWriter();
+		final List<String> sql = new ArrayList<>(group.size() + 1);
+		try (GroupSqlGenerator generator = new GroupSqlGenerator(buffer, groupContext)) {
+			for (final DataProvider provider : group) {
+				writeEntities(generator, provider);
+				generator.finishProvider();
+				sql.add(buffer.toString());
+				buffer.getBuffer().setLength(0);
+			}
+		}
+		sql.add(buffer.toString());
+		if (groupContext.isExplicitIds()) {
+			final List<Long> lastIds = new ArrayList<>(groupContext.getIds().values());
+			lastIds.addAll(groupContext.getSequenceIds().values());
+			for (final Long id : lastIds) {
+				ModelException.test(id < idEnd, "The IDs of " + group + " exceed the reserved range, increase "
+						+ PARALLEL_ID_RANGE_KEY);
+			}
+		}
+		return sql;
+	}
+
 	/**
 	 * Writes a section from a property to the writer of the SQL generator.
 	 *
@@ -0,0 +1,46 @@
+package org.fastnate.data;
+
+import java.io.IOException;
+
+import org.fastnate.generator.EntitySqlGenerator;
+
+/**
+ * A data provider that creates its entities while they are written, instead of building all of them before.
+ *
+ * The {@link EntityImporter} still calls {@link #buildEntities()} in the order of the dependencies, but a streaming
+ * provider should only prepare its work there (for example read lookup tables). The entities are created in
+ * {@link #writeEntities(EntitySqlGenerator)} and handed over to the generator one after another, without keeping
+ * references to them - so the memory of an import is bounded by the size of the largest entity graph, not by the
+ * size of the complete data.
+ *
+ * As a consequence, other providers can't access the entities of a streaming provider.
+ *
+ * @author Tobias Liefke
+ */
+public interface StreamingDataProvider extends DataProvider {
+
+	/**
+	 * Prepares the creation of the entities in {@link #writeEntities(EntitySqlGenerator)}.
+	 *
+	 * Does nothing by default.
+	 *
+	 * @throws IOException
+	 *             if something happens during the preparation
+	 */
+	@Override
+	default void buildEntities() throws IOException {
+		// Nothing to build before writing
+	}
+
+	/**
+	 * Creates the entities and writes each of them with the given generator as soon as it is created.
+	 *
+	 * @param sqlGenerator
+	 *            the SQL file generator
+	 * @throws IOException
+	 *             if the generator throws one
+	 */
+	@Override
+	void writeEntities(EntitySqlGenerator sqlGenerator) throws IOException;
+
+}
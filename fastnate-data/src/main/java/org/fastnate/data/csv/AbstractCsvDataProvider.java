@@ -2,6 +2,9 @@ package org.fastnate.data.csv;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -13,6 +16,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
 import org.apache.commons.lang.ClassUtils;
@@ -36,8 +40,31 @@ import org.fastnate.generator.context.SingularProperty;
  */
 public abstract class AbstractCsvDataProvider<E> extends AbstractCsvReader<E> implements DataProvider {
 
+	/**
+	 * The setter and the converter of a column, resolved once for every column and entity class.
+	 */
+	@RequiredArgsConstructor
+	private static final class ColumnBinding {
+
+		/** The setter of the property, {@code null} if no matching property exists. */
+		private final MethodHandle setter;
+
+		/** The converter of the column, {@code null} if the values are used as they are. */
+		private final CsvPropertyConverter<Object> converter;
+
+		/** The parameter type of the setter. */
+		private final Class<Object> targetType;
+
+	}
+
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private static final ColumnBinding UNKNOWN_COLUMN = new ColumnBinding(null, null, null);
+
 	private static final Map<Class<?>, CsvPropertyConverter<?>> PROPERTY_CONVERTER = new HashMap<>();
 
+	private static final Class<?>[] CONVERT_COLUMN_PARAMETERS = { String.class, Class.class, String.class };
+
 	static {
 		PROPERTY_CONVERTER.put(Number.class, new CsvNumberConverter());
 		PROPERTY_CONVERTER.put(Boolean.class, new CsvBooleanConverter());
@@ -53,6 +80,12 @@ public abstract class AbstractCsvDataProvider<E> extends AbstractCsvReader<E> im
 
 	private final Map<String, String> columnProperties = new HashMap<>();
 
+	/** The bindings of all columns found up to now, mapped by the entity class and the name of the column. */
+	private final Map<Class<?>, Map<String, ColumnBinding>> columnBindings = new HashMap<>();
+
+	/** Indicates that a subclass overrides {@link #convertColumn}, which is called for every value in that case. */
+	private final boolean columnConversionOverridden = isColumnConversionOverridden(getClass());
+
 	/** Indicates to ignore any column that can't be mapped to a property. */
 	@Getter
 	@Setter
@@ -80,6 +113,7 @@ public abstract class AbstractCsvDataProvider<E> extends AbstractCsvReader<E> im
 	 */
 	public void addColumnMapping(final String column, final String property) {
 		this.columnProperties.put(column, property);
+		this.columnBindings.clear();
 	}
 
 	/**
@@ -94,11 +128,16 @@ public abstract class AbstractCsvDataProvider<E> extends AbstractCsvReader<E> im
 	 */
 	public void addConverter(final String column, final CsvPropertyConverter<?> converter) {
 		this.columnConverter.put(column, converter);
+		this.columnBindings.clear();
 	}
 
 	/**
 	 * Converts a column value to a property value and sets that property for an entity.
 	 *
+	 * The setter and the converter of a column are resolved once for every entity class and used for all following
+	 * rows. If a subclass overrides {@link #convertColumn(String, Class, String)}, that method converts every value
+	 * instead.
+	 *
 	 * @param entity
 	 *            the entity to modify
 	 * @param column
@@ -112,31 +151,60 @@ public abstract class AbstractCsvDataProvider<E> extends AbstractCsvReader<E> im
 	 *             if a matching property was not found or the was not converted
 	 */
 	protected boolean applyColumn(final E entity, final String column, final String value) {
-		String property = this.columnProperties.get(column);
-		if (property == null) {
-			property = column;
+		final ColumnBinding binding = getColumnBinding(entity.getClass(), column);
+		if (binding.setter == null) {
+			if (!this.ignoreUnknownColumns) {
+				throw new IllegalArgumentException("Could not find a public method '" + getSetterName(column)
+						+ "' in " + entity.getClass());
+			}
+			return false;
 		}
-		final String setter = "set" + StringUtils.capitalize(property);
 
+		// Convert and apply to property
+		final Object propertyValue;
+		if (this.columnConversionOverridden) {
+			propertyValue = convertColumn(column, binding.targetType, value);
+		} else {
+			propertyValue = binding.converter == null ? value : binding.converter.convert(binding.targetType, value);
+		}
 		try {
-			// Try to find method
-			for (final Method method : entity.getClass().getMethods()) {
-				if (method.getName().equals(setter) && method.getParameterTypes().length == 1
-						&& !Modifier.isStatic(method.getModifiers())) {
-
-					// Now convert and apply to property
-					method.invoke(entity, convertColumn(column, method.getParameterTypes()[0], value));
-					return true;
+			binding.setter.invokeExact((Object) entity, propertyValue);
+			return true;
+		} catch (final Error e) {
+			throw e;
+		} catch (final Throwable e) {
+			throw new IllegalArgumentException(e);
+		}
+	}
+
+	/**
+	 * Finds the setter and the converter of a column.
+	 *
+	 * @param entityClass
+	 *            the class of the current entity
+	 * @param column
+	 *            the name of the column
+	 * @return the binding of the column, {@link #UNKNOWN_COLUMN} if no matching setter was found
+	 */
+	@SuppressWarnings("unchecked")
+	private ColumnBinding bindColumn(final Class<?> entityClass, final String column) {
+		final String setter = getSetterName(column);
+		for (final Method method : entityClass.getMethods()) {
+			if (method.getName().equals(setter) && method.getParameterTypes().length == 1
+					&& !Modifier.isStatic(method.getModifiers())) {
+				final Class<Object> targetType = (Class<Object>) method.getParameterTypes()[0];
+				// An overridden conversion may support types without a converter
+				final CsvPropertyConverter<Object> converter = this.columnConversionOverridden ? null
+						: (CsvPropertyConverter<Object>) findColumnConverter(column, targetType);
+				try {
+					return new ColumnBinding(MethodHandles.publicLookup().unreflect(method).asType(SETTER_TYPE),
+							converter, targetType);
+				} catch (final IllegalAccessException e) {
+					throw new IllegalArgumentException(e);
 				}
 			}
-			if (!this.ignoreUnknownColumns) {
-				throw new IllegalArgumentException("Could not find a public method '" + setter + "' in "
-						+ entity.getClass());
-			}
-			return false;
-		} catch (final IllegalAccessException | InvocationTargetException e) {
-			throw new IllegalArgumentException(e);
 		}
+		return UNKNOWN_COLUMN;
 	}
 
 	/**
@@ -150,6 +218,9 @@ public abstract class AbstractCsvDataProvider<E> extends AbstractCsvReader<E> im
 	/**
 	 * Tries to convert the given string to a value of the given type for the given column.
 	 *
+	 * Only called for every value, if a subclass overrides this method. Otherwise the converter of a column is resolved
+	 * once for every entity class.
+	 *
 	 * @param column
 	 *            the name of the column
 	 * @param targetType
@@ -160,19 +231,8 @@ public abstract class AbstractCsvDataProvider<E> extends AbstractCsvReader<E> im
 	 */
 	@SuppressWarnings("unchecked")
 	protected <T> T convertColumn(final String column, final Class<T> targetType, final String value) {
-		CsvPropertyConverter<? super T> converter = (CsvPropertyConverter<T>) this.columnConverter.get(column);
-		if (converter == null) {
-			if (String.class == targetType) {
-				return (T) value;
-			}
-
-			converter = findConverter(targetType);
-			if (converter == null) {
-				throw new IllegalArgumentException("Could not find a converter for " + targetType);
-			}
-		}
-
-		return (T) converter.convert(targetType, value);
+		final CsvPropertyConverter<? super T> converter = findColumnConverter(column, targetType);
+		return converter == null ? (T) value : (T) converter.convert(targetType, value);
 	}
 
 	/**
@@ -220,6 +280,30 @@ public abstract class AbstractCsvDataProvider<E> extends AbstractCsvReader<E> im
 		return entity;
 	}
 
+	/**
+	 * Finds the converter for the values of a column.
+	 *
+	 * @param column
+	 *            the name of the column
+	 * @param targetType
+	 *            the target type
+	 * @return the converter for the column or {@code null} if the values are strings already
+	 * @throws IllegalArgumentException
+	 *             if no converter exists for the target type
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> CsvPropertyConverter<? super T> findColumnConverter(final String column, final Class<T> targetType) {
+		final CsvPropertyConverter<? super T> converter = (CsvPropertyConverter<T>) this.columnConverter.get(column);
+		if (converter != null || String.class == targetType) {
+			return converter;
+		}
+		final CsvPropertyConverter<? super T> typeConverter = findConverter(targetType);
+		if (typeConverter == null) {
+			throw new IllegalArgumentException("Could not find a converter for " + targetType);
+		}
+		return typeConverter;
+	}
+
 	@SuppressWarnings("unchecked")
 	private <T> CsvPropertyConverter<? super T> findConverter(final Class<T> targetType) {
 		if (targetType == null) {
@@ -244,6 +328,20 @@ public abstract class AbstractCsvDataProvider<E> extends AbstractCsvReader<E> im
 		return converter;
 	}
 
+	private ColumnBinding getColumnBinding(final Class<?> entityClass, final String column) {
+		Map<String, ColumnBinding> bindings = this.columnBindings.get(entityClass);
+		if (bindings == null) {
+			bindings = new HashMap<>();
+			this.columnBindings.put(entityClass, bindings);
+		}
+		ColumnBinding binding = bindings.get(column);
+		if (binding == null) {
+			binding = bindColumn(entityClass, column);
+			bindings.put(column, binding);
+		}
+		return binding;
+	}
+
 	/**
 	 * The class of the created entities.
 	 *
@@ -261,6 +359,23 @@ public abstract class AbstractCsvDataProvider<E> extends AbstractCsvReader<E> im
 		return 0;
 	}
 
+	private String getSetterName(final String column) {
+		final String property = this.columnProperties.get(column);
+		return "set" + StringUtils.capitalize(property == null ? column : property);
+	}
+
+	private static boolean isColumnConversionOverridden(final Class<?> providerClass) {
+		for (Class<?> c = providerClass; c != AbstractCsvDataProvider.class; c = c.getSuperclass()) {
+			try {
+				c.getDeclaredMethod("convertColumn", CONVERT_COLUMN_PARAMETERS);
+				return true;
+			} catch (final NoSuchMethodException e) {
+				// Check the superclass
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Maps the table columns of the singular properties to the CSV columns.
 	 *
@@ -276,6 +391,7 @@ public abstract class AbstractCsvDataProvider<E> extends AbstractCsvReader<E> im
 				}
 			}
 		}
+		this.columnBindings.clear();
 	}
 
 	/**
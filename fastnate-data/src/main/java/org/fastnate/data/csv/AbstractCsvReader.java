@@ -38,6 +38,27 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public abstract class AbstractCsvReader<R> {
 
+	/**
+	 * Receives the entities of every row, while the import files are read.
+	 *
+	 * @param <R>
+	 *            the row type
+	 */
+	@FunctionalInterface
+	public interface RowHandler<R> {
+
+		/**
+		 * Called with the entities created from one row.
+		 *
+		 * @param entities
+		 *            the entities of the current row
+		 * @throws IOException
+		 *             if the handler throws one
+		 */
+		void handleRow(Collection<? extends R> entities) throws IOException;
+
+	}
+
 	private static boolean isNotEmpty(final List<String> values) {
 		return values.size() > 1 || values.size() == 1 && StringUtils.isNotBlank(values.get(0));
 	}
@@ -126,6 +147,21 @@ public abstract class AbstractCsvReader<R> {
 	 */
 	protected Collection<R> readImportFiles() throws IOException {
 		final Collection<R> entities = new ArrayList<>();
+		readImportFiles(entities::addAll);
+		return entities;
+	}
+
+	/**
+	 * Reads the import files and hands the entities of every row over to the given handler.
+	 *
+	 * No entities are kept by this method, so the handler can process files of any size.
+	 *
+	 * @param handler
+	 *            receives the entities of every row
+	 * @throws IOException
+	 *             on error or if the handler throws one
+	 */
+	protected void readImportFiles(final RowHandler<R> handler) throws IOException {
 		for (final File importFile : this.importFiles) {
 			log.info("Reading entities from {}...", importFile);
 
@@ -149,11 +185,10 @@ public abstract class AbstractCsvReader<R> {
 								row.put(column.getKey(), values.get(column.getValue()));
 							}
 						}
-						entities.addAll(createEntities(row));
+						handler.handleRow(createEntities(row));
 					}
 				}
 			}
 		}
-		return entities;
 	}
 }
@@ -0,0 +1,49 @@
+package org.fastnate.data.csv;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.fastnate.data.StreamingDataProvider;
+import org.fastnate.generator.EntitySqlGenerator;
+
+/**
+ * Base class for providers that write the entities of CSV files while the files are read.
+ *
+ * In contrast to {@link AbstractCsvDataProvider}, the created entities are not kept in the {@code entities}, so
+ * files of any size can be imported with a fixed amount of memory.
+ *
+ * @author Tobias Liefke
+ *
+ * @param <E>
+ *            The type of the generated objects
+ */
+public abstract class AbstractStreamingCsvDataProvider<E> extends AbstractCsvDataProvider<E>
+		implements StreamingDataProvider {
+
+	/**
+	 * Initializes the converter from a path.
+	 *
+	 * @param importPath
+	 *            the path to a CSV file or to a directory that contains the *.csv files
+	 */
+	protected AbstractStreamingCsvDataProvider(final File importPath) {
+		super(importPath);
+	}
+
+	/**
+	 * Does nothing, as the files are read in {@link #writeEntities(EntitySqlGenerator)}.
+	 */
+	@Override
+	public void buildEntities() throws IOException {
+		// The entities are created while they are written
+	}
+
+	/**
+	 * Reads the CSV files and writes the entities of every row immediately.
+	 */
+	@Override
+	public void writeEntities(final EntitySqlGenerator sqlGenerator) throws IOException {
+		readImportFiles(sqlGenerator::write);
+	}
+
+}
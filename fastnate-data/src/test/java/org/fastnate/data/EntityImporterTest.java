@@ -2,11 +2,20 @@ package org.fastnate.data;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+import org.fastnate.data.test.CsvTestData;
 import org.fastnate.data.test.TestData;
+import org.fastnate.data.test.TestEntity;
+import org.fastnate.data.test.TestStreamingData;
+import org.fastnate.generator.context.GeneratorContext;
 import org.junit.Test;
 
 /**
@@ -16,6 +25,37 @@ import org.junit.Test;
  */
 public class EntityImporterTest {
 
+	private static List<String> findProviders(final String sql) {
+		final List<String> providers = new ArrayList<>();
+		final Matcher matcher = Pattern.compile("Data from (\\w+)").matcher(sql);
+		while (matcher.find()) {
+			providers.add(matcher.group(1));
+		}
+		return providers;
+	}
+
+	/**
+	 * Tests that an overridden conversion of a CSV column is used for every value.
+	 *
+	 * @throws IOException
+	 *             if the CSV file is not readable
+	 */
+	@Test
+	public void testConvertColumn() throws IOException {
+		final CsvTestData csvData = new CsvTestData(new File("src/test/data")) {
+
+			@Override
+			protected <T> T convertColumn(final String column, final Class<T> targetType, final String value) {
+				final T converted = super.convertColumn(column, targetType, value);
+				return "integ".equals(column) ? targetType.cast((Integer) converted + 1) : converted;
+			}
+
+		};
+		csvData.buildEntities();
+
+		assertThat(csvData.getEntities()).extracting(TestEntity::getNumber).containsExactly(2, 1);
+	}
+
 	/**
 	 * Tests the SQL generation using the Entity Importer.
 	 *
@@ -54,4 +94,85 @@ public class EntityImporterTest {
 
 	}
 
+	/**
+	 * Tests to generate the SQL of independent data providers in parallel.
+	 *
+	 * @throws IOException
+	 *             if the generator throws one
+	 */
+	@Test
+	public void testParallel() throws IOException {
+		final Properties settings = new Properties();
+		settings.setProperty(EntityImporter.PACKAGES_KEY, TestData.class.getPackage().getName());
+		settings.setProperty(EntityImporter.DATA_FOLDER_KEY, "src/test/data");
+		settings.setProperty(EntityImporter.PARALLEL_ID_RANGE_KEY, "1000");
+		settings.setProperty(GeneratorContext.EXPLICIT_IDS_KEY, "true");
+
+		final StringWriter sequentialWriter = new StringWriter();
+		new EntityImporter(settings).importData(sequentialWriter);
+
+		settings.setProperty(EntityImporter.PARALLELISM_KEY, "2");
+		final EntityImporter entityImporter = new EntityImporter(settings);
+		final StringWriter sqlWriter = new StringWriter();
+		entityImporter.importData(sqlWriter);
+		final String sql = sqlWriter.toString();
+
+		// The CSV data is independent and written first, TestData and SuccessorData use the second ID range
+		final int csvStart = sql.indexOf("Data from " + CsvTestData.class.getSimpleName());
+		final int testDataStart = sql.indexOf("Data from " + TestData.class.getSimpleName());
+		assertThat(csvStart).isGreaterThanOrEqualTo(0).isLessThan(testDataStart);
+		assertThat(sql.substring(csvStart, testDataStart)).doesNotContain("1000");
+		assertThat(sql.substring(testDataStart)).contains("1000").contains("'Successor'");
+
+		// The providers are written in the same order as in a sequential generation
+		assertThat(findProviders(sql)).isEqualTo(findProviders(sequentialWriter.toString()));
+	}
+
+	/**
+	 * Tests to build the entities of the data providers in parallel.
+	 *
+	 * @throws IOException
+	 *             if the generator throws one
+	 */
+	@Test
+	public void testParallelBuild() throws IOException {
+		final Properties settings = new Properties();
+		settings.setProperty(EntityImporter.PACKAGES_KEY, TestData.class.getPackage().getName());
+		settings.setProperty(EntityImporter.DATA_FOLDER_KEY, "src/test/data");
+
+		final StringWriter sequentialWriter = new StringWriter();
+		new EntityImporter(settings).importData(sequentialWriter);
+
+		settings.setProperty(EntityImporter.BUILD_PARALLELISM_KEY, "4");
+		final StringWriter parallelWriter = new StringWriter();
+		new EntityImporter(settings).importData(parallelWriter);
+
+		assertThat(parallelWriter.toString()).isEqualTo(sequentialWriter.toString());
+	}
+
+	/**
+	 * Tests to write the entities of a streaming data provider.
+	 *
+	 * @throws IOException
+	 *             if the generator throws one
+	 */
+	@Test
+	public void testStreaming() throws IOException {
+		final Properties settings = new Properties();
+		settings.setProperty(EntityImporter.PACKAGES_KEY, TestData.class.getPackage().getName());
+		settings.setProperty(EntityImporter.DATA_FOLDER_KEY, "src/test/data");
+
+		final EntityImporter entityImporter = new EntityImporter(settings);
+		final StringWriter sqlWriter = new StringWriter();
+		entityImporter.importData(sqlWriter);
+		final String sql = sqlWriter.toString();
+
+		assertThat(sql).contains("'Streamed 1'").contains("'Streamed 2'");
+		for (final DataProvider provider : entityImporter.getDataProviders()) {
+			if (provider instanceof TestStreamingData) {
+				assertThat(((TestStreamingData) provider).getEntities()).isEmpty();
+			}
+		}
+	}
+
 }
@@ -0,0 +1,100 @@
+package org.fastnate.data.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.fastnate.data.test.CsvTestData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the creation of entities from a CSV file, with the columns of {@link CsvTestData}.
+ *
+ * Start with {@link #main(String[])} from the test classpath.
+ *
+ * @author Tobias Liefke
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CsvImportBenchmark {
+
+	/**
+	 * Runs this benchmark.
+	 *
+	 * @param args
+	 *            ignored
+	 * @throws RunnerException
+	 *             if JMH throws one
+	 */
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(CsvImportBenchmark.class.getSimpleName()).forks(1).build()).run();
+	}
+
+	/** The count of rows in the CSV file. */
+	@Param({ "1000", "10000", "100000" })
+	private int rows;
+
+	private File dataDir;
+
+	/**
+	 * Creates the CSV file.
+	 *
+	 * @throws IOException
+	 *             if the file could not be written
+	 */
+	@Setup
+	public void writeCsvFile() throws IOException {
+		this.dataDir = Files.createTempDirectory("fastnate-benchmark").toFile();
+		final File csvDir = new File(this.dataDir, "csv");
+		csvDir.mkdir();
+		try (PrintWriter writer = new PrintWriter(new File(csvDir, "benchmark.csv"), StandardCharsets.UTF_8.name())) {
+			writer.println("name;parentName;integ;bool");
+			writer.println("Row 0;;0;true");
+			for (int i = 1; i < this.rows; i++) {
+				writer.println("Row " + i + ";Row " + (i - 1) + ';' + i + ';' + (i % 2 == 0));
+			}
+		}
+	}
+
+	/**
+	 * Deletes the CSV file.
+	 *
+	 * @throws IOException
+	 *             if the file could not be deleted
+	 */
+	@TearDown
+	public void deleteCsvFile() throws IOException {
+		FileUtils.deleteDirectory(this.dataDir);
+	}
+
+	/**
+	 * Reads all entities from the CSV file.
+	 *
+	 * @return the provider with the created entities
+	 * @throws IOException
+	 *             if the file could not be read
+	 */
+	@Benchmark
+	public CsvTestData readEntities() throws IOException {
+		final CsvTestData provider = new CsvTestData(this.dataDir);
+		provider.buildEntities();
+		return provider;
+	}
+
+}
@@ -0,0 +1,42 @@
+package org.fastnate.data.test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import org.fastnate.data.AbstractDataProvider;
+import org.fastnate.data.EntityImporter;
+
+/**
+ * Data provider to test the order of the providers in the {@link EntityImporter}, if it depends on an early provider.
+ *
+ * @author Tobias Liefke
+ */
+@Getter
+@RequiredArgsConstructor
+public class CsvSuccessorData extends AbstractDataProvider {
+
+	/** The preceding data provider that contains existing entities. */
+	private final CsvTestData existingData;
+
+	/** A list that contains all the created data. */
+	private final List<TestEntity> entities = new ArrayList<>();
+
+	@Override
+	public void buildEntities() throws IOException {
+		// Use an existing entity from the preceding data provider to create our test entity
+		this.entities.add(new TestEntity(this.existingData.getEntities().iterator().next(), "CSV Successor"));
+	}
+
+	/**
+	 * Write our entities after all other test data, even after the entities of the independent providers.
+	 */
+	@Override
+	public int getOrder() {
+		return 2;
+	}
+
+}
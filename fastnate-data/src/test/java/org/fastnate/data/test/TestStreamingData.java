@@ -0,0 +1,33 @@
+package org.fastnate.data.test;
+
+import java.io.File;
+
+import org.fastnate.data.csv.AbstractStreamingCsvDataProvider;
+
+/**
+ * Tests to write the entities of a CSV file while it is read.
+ *
+ * @author Tobias Liefke
+ */
+public class TestStreamingData extends AbstractStreamingCsvDataProvider<TestEntity> {
+
+	/**
+	 * Creates a new instance of this test class.
+	 *
+	 * @param dataDir
+	 *            the data directory
+	 */
+	public TestStreamingData(final File dataDir) {
+		super(new File(dataDir, "streaming"));
+		useTableColumns();
+	}
+
+	/**
+	 * Write our entities after all other test data, to keep their references stable.
+	 */
+	@Override
+	public int getOrder() {
+		return 1;
+	}
+
+}
@@ -0,0 +1,264 @@
+package org.fastnate.generator;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.fastnate.generator.context.GeneratorContext;
+import org.fastnate.generator.context.TableDependencyGraph;
+import org.fastnate.generator.dialect.GeneratorDialect;
+import org.fastnate.generator.statements.BooleanColumnExpression;
+import org.fastnate.generator.statements.ColumnExpression;
+import org.fastnate.generator.statements.EntityStatement;
+import org.fastnate.generator.statements.IdentityVariableStatement;
+import org.fastnate.generator.statements.InsertStatement;
+import org.fastnate.generator.statements.NumberColumnExpression;
+import org.fastnate.generator.statements.PlainColumnExpression;
+import org.fastnate.generator.statements.StringColumnExpression;
+import org.fastnate.generator.statements.TemporalColumnExpression;
+
+import com.google.common.base.Preconditions;
+import com.google.common.io.Closeables;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Writes the rows of all tables into CSV files and creates a script, that imports these files with the
+ * {@link GeneratorDialect#buildCsvImport bulk loader} of the database.
+ *
+ * Only inserts that contain literal values are written to the CSV files. All other statements (like updates or
+ * inserts with subselects) are written to the script, after the import of all rows written up to then. For that
+ * reason this generator needs {@link GeneratorContext#EXPLICIT_IDS_KEY explicit IDs}. Tables are imported in the order
+ * of their {@link TableDependencyGraph dependencies}. For as few files as possible, all rows of a table should have
+ * the same columns (see {@link GeneratorContext#NULL_VALUES_KEY}) and the statements should be
+ * {@link GeneratorContext#GROUP_BY_TABLE_KEY grouped by table}.
+ *
+ * @author Tobias Liefke
+ */
+public class CsvEntitySqlGenerator extends EntitySqlGenerator {
+
+	/**
+	 * An open CSV file for the rows of one table.
+	 */
+	@RequiredArgsConstructor
+	private static final class CsvFile {
+
+		private final String table;
+
+		private final List<String> columns;
+
+		private final File file;
+
+		private final Writer writer;
+
+	}
+
+	private static final char SEPARATOR = ',';
+
+	private static final char QUOTE = '"';
+
+	private static boolean isLiteral(final ColumnExpression expression) {
+		return expression == PlainColumnExpression.NULL || expression instanceof NumberColumnExpression
+				|| expression instanceof StringColumnExpression || expression instanceof BooleanColumnExpression
+				|| expression instanceof TemporalColumnExpression
+						&& !GeneratorDialect.NOW.equals(((TemporalColumnExpression) expression).getValue());
+	}
+
+	/** The directory of the CSV files. */
+	@Getter
+	private final File directory;
+
+	/** The currently open files, mapped by their table. */
+	private final Map<String, CsvFile> files = new LinkedHashMap<>();
+
+	/** The count of files created for each table. */
+	private final Map<String, Integer> fileCounts = new HashMap<>();
+
+	/**
+	 * Creates a new generator for the given directory.
+	 *
+	 * @param directory
+	 *            the directory of the CSV files
+	 * @param writer
+	 *            the writer of the script that imports the CSV files
+	 * @param context
+	 *            the context of the generator, with explicit IDs
+	 * @throws IllegalArgumentException
+	 *             if the context does not use explicit IDs
+	 */
+	public CsvEntitySqlGenerator(final File directory, final Writer writer, final GeneratorContext context) {
+		super(writer, context);
+		Preconditions.checkArgument(context.isExplicitIds(), "CSV files are only possible with explicit IDs");
+		this.directory = directory;
+	}
+
+	private void appendValue(final Writer writer, final ColumnExpression value) throws IOException {
+		if (value == null || value == PlainColumnExpression.NULL) {
+			writer.write(getContext().getDialect().getCsvNullValue());
+		} else if (value instanceof StringColumnExpression) {
+			final String string = ((StringColumnExpression) value).getValue();
+			writer.write(QUOTE);
+			int start = 0;
+			for (int quote = string.indexOf(QUOTE); quote >= 0; quote = string.indexOf(QUOTE, start)) {
+				writer.write(string, start, quote + 1 - start);
+				writer.write(QUOTE);
+				start = quote + 1;
+			}
+			writer.write(string, start, string.length() - start);
+			writer.write(QUOTE);
+		} else if (value instanceof TemporalColumnExpression) {
+			final Date date = ((TemporalColumnExpression) value).getValue();
+			switch (((TemporalColumnExpression) value).getType()) {
+			case DATE:
+				writer.write(new java.sql.Date(date.getTime()).toString());
+				break;
+			case TIME:
+				writer.write(new Time(date.getTime()).toString());
+				break;
+			case TIMESTAMP:
+			default:
+				writer.write((date instanceof Timestamp ? date : new Timestamp(date.getTime())).toString());
+			}
+		} else {
+			value.appendSql(getContext().getDialect(), writer);
+		}
+	}
+
+	/**
+	 * Imports all written rows and closes the script.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			for (final CsvFile file : this.files.values()) {
+				Closeables.close(file.writer, true);
+			}
+			this.files.clear();
+			super.close();
+		}
+	}
+
+	/**
+	 * Writes all pending statements and imports all written rows.
+	 *
+	 * Every following row is written to a new CSV file.
+	 */
+	@Override
+	public void flush() throws IOException {
+		super.flush();
+		importFiles();
+		getWriter().flush();
+	}
+
+	/**
+	 * Closes all open files and writes the statements to import them.
+	 */
+	private void importFiles() throws IOException {
+		if (!this.files.isEmpty()) {
+			writePendingInserts();
+			final TableDependencyGraph tableDependencies = getContext().getTableDependencies();
+			final List<CsvFile> openFiles = new ArrayList<>(this.files.values());
+			this.files.clear();
+			openFiles.sort(Comparator.comparingInt(file -> tableDependencies.getPosition(file.table)));
+			final GeneratorDialect dialect = getContext().getDialect();
+			for (final CsvFile file : openFiles) {
+				file.writer.close();
+				writeDisableConstraints(file.table);
+				writeTransactionStart();
+				getWriter().write(
+						dialect.buildCsvImport(file.table, file.columns, file.file.getAbsolutePath()) + ";\n");
+				countStatements(1);
+			}
+		}
+	}
+
+	private CsvFile openFile(final InsertStatement stmt) throws IOException {
+		final String table = stmt.getTable();
+		final Integer count = this.fileCounts.get(table);
+		final int fileCount = count == null ? 1 : count + 1;
+		this.fileCounts.put(table, fileCount);
+		final File file = new File(this.directory, fileCount == 1 ? table + ".csv" : table + '.' + fileCount + ".csv");
+		final Writer writer = new BufferedWriter(
+				new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+		final CsvFile csvFile = new CsvFile(table, new ArrayList<>(stmt.getValues().keySet()), file, writer);
+		for (int i = 0; i < csvFile.columns.size(); i++) {
+			if (i > 0) {
+				writer.write(SEPARATOR);
+			}
+			writer.write(csvFile.columns.get(i));
+		}
+		writer.write('\n');
+		this.files.put(table, csvFile);
+		return csvFile;
+	}
+
+	/**
+	 * Writes the given statement into the CSV file of its table, if all values are literals. Otherwise all written
+	 * rows are imported and the statement is written to the script.
+	 *
+	 * @throws IllegalStateException
+	 *             if the statement stores a generated ID in an {@link GeneratorContext#IDENTITY_VARIABLES_KEY identity
+	 *             variable}, as its row is imported together with the other rows of the CSV file
+	 */
+	@Override
+	protected void writeStatement(final EntityStatement stmt) throws IOException {
+		Preconditions.checkState(!(stmt instanceof IdentityVariableStatement),
+				"Identity variables are not available for CSV files, use explicit IDs");
+		if (!(stmt instanceof InsertStatement) || stmt.getValues().isEmpty()) {
+			importFiles();
+			super.writeStatement(stmt);
+			return;
+		}
+		for (final ColumnExpression value : stmt.getValues().values()) {
+			if (!isLiteral(value)) {
+				importFiles();
+				super.writeStatement(stmt);
+				return;
+			}
+		}
+
+		CsvFile file = this.files.get(stmt.getTable());
+		if (file == null) {
+			// Rows of tables that reference each other are only imported in the order of their generation
+			for (final String table : this.files.keySet()) {
+				if (getContext().getTableDependencies().isSameGroup(table, stmt.getTable())) {
+					importFiles();
+					break;
+				}
+			}
+		} else if (!file.columns.containsAll(stmt.getValues().keySet())) {
+			// The file has not all columns of the row
+			importFiles();
+			file = null;
+		}
+		if (file == null) {
+			file = openFile((InsertStatement) stmt);
+		}
+
+		final Writer writer = file.writer;
+		for (int i = 0; i < file.columns.size(); i++) {
+			if (i > 0) {
+				writer.write(SEPARATOR);
+			}
+			appendValue(writer, stmt.getValues().get(file.columns.get(i)));
+		}
+		writer.write('\n');
+	}
+
+}
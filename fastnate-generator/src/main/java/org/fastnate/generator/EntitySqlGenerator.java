@@ -1,23 +1,40 @@
 package org.fastnate.generator;
 
 import java.io.Closeable;
+import java.io.Flushable;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+
+import javax.persistence.SequenceGenerator;
 
 import org.fastnate.generator.context.EmbeddedProperty;
 import org.fastnate.generator.context.EntityClass;
 import org.fastnate.generator.context.GeneratedIdProperty;
 import org.fastnate.generator.context.GeneratorContext;
 import org.fastnate.generator.context.Property;
+import org.fastnate.generator.context.TableDependencyGraph;
 import org.fastnate.generator.dialect.GeneratorDialect;
+import org.fastnate.generator.statements.ColumnExpression;
 import org.fastnate.generator.statements.EntityStatement;
+import org.fastnate.generator.statements.IdentityColumnExpression;
+import org.fastnate.generator.statements.IdentityVariableStatement;
 import org.fastnate.generator.statements.InsertStatement;
+import org.fastnate.generator.statements.SequenceColumnExpression;
+import org.fastnate.generator.statements.UpdateStatement;
 
 import com.google.common.io.Closeables;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
@@ -33,18 +50,235 @@ import lombok.RequiredArgsConstructor;
  * @author Tobias Liefke
  */
 @RequiredArgsConstructor
-public class EntitySqlGenerator implements Closeable {
+public class EntitySqlGenerator implements Closeable, Flushable {
+
+	/**
+	 * Writes all table entities of an entity, then the entity itself.
+	 *
+	 * @param <E>
+	 *            the type of the entity
+	 */
+	private final class EntityStep<E> extends WriteStep {
+
+		private final E entity;
+
+		private EntityClass<E> classDescription;
+
+		EntityStep(final PostponedEntities postponedEntities, final E entity) {
+			super(postponedEntities);
+			this.entity = entity;
+		}
+
+		@Override
+		WriteStep next() throws IOException {
+			if (this.classDescription == null) {
+				this.classDescription = EntitySqlGenerator.this.context.getDescription(this.entity);
+				if (!this.classDescription.isNew(this.entity)) {
+					return null;
+				}
+				if (!findEntity(this.entity) && !getPostponedEntities().isPostponedInsert(this.entity)) {
+					// We are a new entity that is written later
+					getPostponedEntities().add(this.entity);
+				}
+
+				// Write all contained entities that are mapped in our table(s), as far as possible
+				return new TableEntitiesStep<>(getPostponedEntities(), this.entity,
+						this.classDescription.getAllProperties().iterator());
+			}
+
+			// Check if we still need to be created
+			if (getPostponedEntities().remove(this.entity)) {
+				return new InsertsStep<>(getPostponedEntities(), this.entity, this.classDescription,
+						this.classDescription.getDiscriminator());
+			}
+			return null;
+		}
+
+	}
+
+	/**
+	 * Writes the insert statement for one table of an entity, followed by all entities that are referenced by the
+	 * properties of that table.
+	 *
+	 * @param <E>
+	 *            the type of the entity
+	 */
+	private final class InsertsStep<E> extends WriteStep {
+
+		private final E entity;
+
+		private final EntityClass<E> classDescription;
+
+		private final ColumnExpression discriminator;
+
+		private boolean parentWritten;
+
+		private Iterator<Property<E, ?>> properties;
+
+		private Property<E, ?> property;
+
+		private Iterator<?> referencedEntities = Collections.emptyIterator();
+
+		InsertsStep(final PostponedEntities postponedEntities, final E entity, final EntityClass<E> classDescription,
+				final ColumnExpression discriminator) {
+			super(postponedEntities);
+			this.entity = entity;
+			this.classDescription = classDescription;
+			this.discriminator = discriminator;
+		}
+
+		@Override
+		WriteStep next() throws IOException {
+			if (!this.parentWritten) {
+				this.parentWritten = true;
+				if (this.classDescription.getJoinedParentClass() != null) {
+					// Write the parent tables first
+					return new InsertsStep<>(getPostponedEntities(), this.entity,
+							this.classDescription.getJoinedParentClass(), this.discriminator);
+				}
+			}
+
+			if (this.properties == null) {
+				writeInsert(this.entity, this.classDescription, this.discriminator);
+				this.properties = this.classDescription.getProperties().values().iterator();
+			}
+
+			while (true) {
+				// Write all missing entities, even those that have no column (because they are referencing us and
+				// we are created now)
+				while (this.referencedEntities.hasNext()) {
+					final Object referencedEntity = this.referencedEntities.next();
+					if (!getPostponedEntities().contains(referencedEntity)) {
+						return new EntityStep<>(getPostponedEntities(), referencedEntity);
+					}
+				}
+
+				if (this.property != null) {
+					// Generate additional statements
+					for (final EntityStatement additionalStmt : this.property.buildAdditionalStatements(this.entity)) {
+						addStatement(additionalStmt);
+					}
+				}
+
+				if (!this.properties.hasNext()) {
+					return null;
+				}
+				this.property = this.properties.next();
+				this.referencedEntities = this.property.findReferencedEntities(this.entity).iterator();
+			}
+		}
 
-	private static <E> boolean isPostponedInsert(final List<Object> postInsertEntities, final E entity) {
-		final int index = postInsertEntities.indexOf(entity);
+	}
+
+	/**
+	 * Counts the characters of a rendered expression, without keeping them.
+	 */
+	private static final class LengthCounter implements Appendable {
+
+		private int length;
+
+		@Override
+		public Appendable append(final char c) {
+			this.length++;
+			return this;
+		}
+
+		@Override
+		public Appendable append(final CharSequence csq) {
+			this.length += csq.length();
+			return this;
+		}
 
-		// Were we already here, but are required by another entity ?
-		final boolean isPostInsert = index >= 0;
-		if (isPostInsert && index == postInsertEntities.size() - 1) {
-			// We have a required dependency in an endless loop
-			throw new IllegalArgumentException("An entity requires another entity that itself requires the first one.");
+		@Override
+		public Appendable append(final CharSequence csq, final int start, final int end) {
+			this.length += end - start;
+			return this;
 		}
-		return isPostInsert;
+
+	}
+
+	/**
+	 * Writes all entities that are referenced from the table columns of an entity (or embedded object).
+	 *
+	 * @param <E>
+	 *            the type of the entity
+	 */
+	private final class TableEntitiesStep<E> extends WriteStep {
+
+		private final E entity;
+
+		private final Iterator<? extends Property<? super E, ?>> properties;
+
+		private Property<? super E, ?> property;
+
+		private Iterator<?> referencedEntities = Collections.emptyIterator();
+
+		TableEntitiesStep(final PostponedEntities postponedEntities, final E entity,
+				final Iterator<? extends Property<? super E, ?>> properties) {
+			super(postponedEntities);
+			this.entity = entity;
+			this.properties = properties;
+		}
+
+		@Override
+		WriteStep next() {
+			while (true) {
+				while (this.referencedEntities.hasNext()) {
+					final Object value = this.referencedEntities.next();
+					if (!getPostponedEntities().contains(value) || this.property.isRequired()) {
+						return new EntityStep<>(getPostponedEntities(), value);
+					}
+				}
+
+				if (!this.properties.hasNext()) {
+					return null;
+				}
+				this.property = this.properties.next();
+				this.referencedEntities = Collections.emptyIterator();
+				if (this.property instanceof EmbeddedProperty) {
+					final EmbeddedProperty<? super E, Object> embedded = (EmbeddedProperty<? super E, Object>) this.property;
+					return new TableEntitiesStep<>(getPostponedEntities(), embedded.getValue(this.entity),
+							embedded.getEmbeddedProperties().values().iterator());
+				}
+				if (this.property.isTableColumn()) {
+					this.referencedEntities = this.property.findReferencedEntities(this.entity).iterator();
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * One step when writing an entity graph.
+	 *
+	 * All steps are kept in an explicit stack, to write graphs of any depth without exhausting the call stack.
+	 */
+	@RequiredArgsConstructor
+	private abstract static class WriteStep {
+
+		/** Contains the entities that will be written later and can be ignored. */
+		@Getter(AccessLevel.PROTECTED)
+		private final PostponedEntities postponedEntities;
+
+		/**
+		 * Executes the next part of this step.
+		 *
+		 * @return the step that has to be executed, before this step is continued, or {@code null} if this step is
+		 *         finished
+		 * @throws IOException
+		 *             if the writer throws one
+		 */
+		abstract WriteStep next() throws IOException;
+
+	}
+
+	/**
+	 * Indicates that the given expression references a value relative to the current value of a sequence or an
+	 * identity column, which depends on the order of the statements.
+	 */
+	private static boolean isRelativeReference(final ColumnExpression expression) {
+		return expression instanceof IdentityColumnExpression || expression instanceof SequenceColumnExpression
+				&& !((SequenceColumnExpression) expression).isNext();
 	}
 
 	/** Used to write the SQL statements. */
@@ -55,6 +289,41 @@ public class EntitySqlGenerator implements Closeable {
 	@Getter
 	private final GeneratorContext context;
 
+	/** The statements that are kept back to write them {@link GeneratorContext#GROUP_BY_TABLE_KEY grouped by table}. */
+	private final List<EntityStatement> groupedStatements = new ArrayList<>();
+
+	/** The consecutive inserts into the same table, which are written as one multi-row insert. */
+	private final List<InsertStatement> pendingInserts = new ArrayList<>();
+
+	/** The count of characters of the values in {@link #pendingInserts}. */
+	private int pendingInsertsSize;
+
+	/** Used to measure the size of the values of an insert, without rendering them into a string. */
+	private final LengthCounter lengthCounter = new LengthCounter();
+
+	/**
+	 * Indicates that a transaction was started for the {@link GeneratorContext#COMMIT_INTERVAL_KEY commit interval}.
+	 */
+	private boolean transactionStarted;
+
+	/** The count of statements written since the start of the current transaction. */
+	private int uncommittedStatements;
+
+	/**
+	 * Indicates that the commit interval is reached and the current transaction is committed before the next
+	 * statement.
+	 */
+	private boolean commitPending;
+
+	/**
+	 * The tables with {@link GeneratorContext#DISABLE_CONSTRAINTS_KEY disabled constraints}, {@code null} as long as
+	 * the constraints are enabled.
+	 */
+	private Set<String> disabledConstraintTables;
+
+	/** Indicates that this generator was attached to the context when it wrote its first entity. */
+	private boolean attached;
+
 	/**
 	 * Creates a new instance of this {@link EntitySqlGenerator}.
 	 *
@@ -65,6 +334,119 @@ public class EntitySqlGenerator implements Closeable {
 		this(writer, new GeneratorContext());
 	}
 
+	/**
+	 * Writes the given statement, or keeps it back if the statements are {@link GeneratorContext#GROUP_BY_TABLE_KEY
+	 * grouped by table}.
+	 *
+	 * @param stmt
+	 *            the SQL statement to write
+	 * @throws IOException
+	 *             if the writer throws one
+	 * @throws IllegalStateException
+	 *             if the statement is grouped by table, but references the current value of a sequence or identity
+	 *             column
+	 */
+	private void addStatement(final EntityStatement stmt) throws IOException {
+		if (this.context.isGroupByTable()) {
+			boolean relative = stmt instanceof UpdateStatement
+					&& isRelativeReference(((UpdateStatement) stmt).getIdValue());
+			for (final ColumnExpression value : stmt.getValues().values()) {
+				relative |= isRelativeReference(value);
+			}
+			if (relative) {
+				throw new IllegalStateException("Can't group statements by table, as a statement for " + stmt.getTable()
+						+ " references the current value of a sequence or identity column. Use explicit IDs instead.");
+			}
+			this.groupedStatements.add(stmt);
+		} else {
+			writeStatement(stmt);
+		}
+	}
+
+	/**
+	 * Writes the statements that disable the checks of the constraints of the given table, if
+	 * {@link GeneratorContext#DISABLE_CONSTRAINTS_KEY requested} and not done before.
+	 *
+	 * @param result
+	 *            the target of the statements
+	 * @param table
+	 *            the table of the next statement
+	 * @throws IOException
+	 *             if the target throws one
+	 * @see #writeDisableConstraints(String)
+	 */
+	protected void appendDisableConstraints(final Appendable result, final String table) throws IOException {
+		if (this.context.isDisableConstraints()) {
+			final GeneratorDialect dialect = this.context.getDialect();
+			if (this.disabledConstraintTables == null) {
+				this.disabledConstraintTables = new LinkedHashSet<>();
+				dialect.appendDisableConstraints(result);
+				for (final String knownTable : this.context.getTableDependencies().getTables()) {
+					this.disabledConstraintTables.add(knownTable);
+					dialect.appendDisableConstraints(result, knownTable);
+				}
+			}
+			if (this.disabledConstraintTables.add(table)) {
+				dialect.appendDisableConstraints(result, table);
+			}
+		}
+	}
+
+	/**
+	 * Writes the statements that enable the checks of all constraints again, that were disabled by
+	 * {@link #appendDisableConstraints(Appendable, String)}.
+	 *
+	 * @param result
+	 *            the target of the statements
+	 * @throws IOException
+	 *             if the target throws one
+	 */
+	protected void appendEnableConstraints(final Appendable result) throws IOException {
+		if (this.disabledConstraintTables != null) {
+			final GeneratorDialect dialect = this.context.getDialect();
+			for (final String table : this.disabledConstraintTables) {
+				dialect.appendEnableConstraints(result, table);
+			}
+			dialect.appendEnableConstraints(result);
+			this.disabledConstraintTables = null;
+		}
+	}
+
+	/**
+	 * Writes the statements that restart all sequences and identity columns after the
+	 * {@link GeneratorContext#EXPLICIT_IDS_KEY explicit IDs} generated up to now.
+	 *
+	 * @param result
+	 *            the target of the statements
+	 * @throws IOException
+	 *             if the target throws one
+	 */
+	protected void appendIdRestarts(final Appendable result) throws IOException {
+		final GeneratorDialect dialect = this.context.getDialect();
+		final Set<String> restarted = new HashSet<>();
+		for (final EntityClass<?> description : this.context.getDescriptions().values()) {
+			if (description.getIdProperty() instanceof GeneratedIdProperty) {
+				final GeneratedIdProperty<?> idProperty = (GeneratedIdProperty<?>) description.getIdProperty();
+				final SequenceGenerator generator = idProperty.getGenerator();
+				if (generator != null) {
+					final Long currentValue = this.context.getCurrentValue(generator);
+					if (currentValue != null && restarted.add(idProperty.getSequenceName())) {
+						final long increment = this.context.getSequenceOptimizer(generator)
+								.getIncrementSize(generator.allocationSize());
+						dialect.appendSequenceRestart(result, idProperty.getSequenceName(), currentValue + increment);
+					}
+				} else {
+					final String columnId = idProperty.getTable() + '.' + idProperty.getColumn();
+					final Long currentValue = this.context.getIds().get(columnId);
+					if (currentValue != null && restarted.add(columnId)) {
+						dialect.appendIdentityRestart(result, idProperty.getTable(), idProperty.getColumn(),
+								currentValue + 1);
+					}
+				}
+			}
+		}
+	}
+
 	/**
 	 * Writes any missing SQL and closes the target writer.
 	 *
@@ -73,7 +455,62 @@ public class EntitySqlGenerator implements Closeable {
 	 */
 	@Override
 	public void close() throws IOException {
-		Closeables.close(this.writer, false);
+		try {
+			writeGroupedStatements();
+			writePendingInserts();
+			if (this.context.isExplicitIds()) {
+				writeIdRestarts();
+			}
+			writeTransactionEnd();
+			writeEnableConstraints();
+		} finally {
+			if (this.attached) {
+				this.attached = false;
+				this.context.detachGenerator();
+			}
+			Closeables.close(this.writer, false);
+		}
+	}
+
+	/**
+	 * Counts the statements written to the {@link #writer} and commits the current transaction with the next
+	 * {@link #writeTransactionStart()}, if the {@link GeneratorContext#COMMIT_INTERVAL_KEY commit interval} is reached.
+	 *
+	 * The commit is postponed, as an insert and the {@link IdentityVariableStatement} for its generated ID have to be
+	 * written into the same transaction.
+	 *
+	 * Subclasses that write statements to the {@link #writer} directly should call {@link #writeTransactionStart()}
+	 * before and this method after writing them.
+	 *
+	 * @param count
+	 *            the count of written statements
+	 * @throws IOException
+	 *             if the writer throws one
+	 */
+	protected void countStatements(final int count) throws IOException {
+		if (this.transactionStarted) {
+			this.uncommittedStatements += count;
+			if (this.uncommittedStatements >= this.context.getCommitInterval()) {
+				this.commitPending = true;
+			}
+		}
+	}
+
+	/**
+	 * Writes all pending statements and flushes the target writer.
+	 *
+	 * Necessary before writing to the {@link #writer} directly, as inserts may be kept back to combine them with
+	 * following inserts. If the statements are {@link GeneratorContext#GROUP_BY_TABLE_KEY grouped by table}, this ends
+	 * the current group of statements.
+	 *
+	 * @throws IOException
+	 *             if the target writer throws one
+	 */
+	@Override
+	public void flush() throws IOException {
+		writeGroupedStatements();
+		writePendingInserts();
+		this.writer.flush();
 	}
 
 	/**
@@ -132,12 +569,20 @@ public class EntitySqlGenerator implements Closeable {
 	 *             if the entity is invalid
 	 */
 	public <E> void write(final E entity) throws IOException {
-		write(entity, new ArrayList<>());
+		if (!this.attached) {
+			// The identity variables of the context are only used, as long as a single generator writes entities
+			this.context.attachGenerator();
+			this.attached = true;
+		}
+		write(entity, new PostponedEntities());
 	}
 
 	/**
 	 * Creates the Import-SQL for an entity. If the entity was already written, nothing happens.
 	 *
+	 * The entity graph is traversed with an explicit stack of {@link WriteStep}s on the heap, to support graphs of any
+	 * depth.
+	 *
 	 * @param entity
 	 *            the entity to create the SQL for
 	 * @param postponedEntities
@@ -145,23 +590,17 @@ public class EntitySqlGenerator implements Closeable {
 	 * @throws IOException
 	 *             if the writer throws one
 	 */
-	private <E> void write(final E entity, final List<Object> postponedEntities) throws IOException {
-		final EntityClass<E> classDescription = this.context.getDescription(entity);
-		if (classDescription.isNew(entity)) {
-			if (!findEntity(entity) && !isPostponedInsert(postponedEntities, entity)) {
-				// We are a new entity that is written later
-				postponedEntities.add(entity);
-			}
-
-			// Write all contained entities that are mapped in our table(s), as far as possible
-			writeTableEntities(entity, postponedEntities, classDescription.getAllProperties());
-
-			// Check if we still need to be created
-			if (postponedEntities.remove(entity)) {
-				writeInserts(entity, postponedEntities, classDescription, classDescription.getDiscriminator());
+	private void write(final Object entity, final PostponedEntities postponedEntities) throws IOException {
+		final Deque<WriteStep> steps = new ArrayDeque<>();
+		steps.push(new EntityStep<>(postponedEntities, entity));
+		do {
+			final WriteStep nextStep = steps.peek().next();
+			if (nextStep == null) {
+				steps.pop();
+			} else {
+				steps.push(nextStep);
 			}
-		}
-
+		} while (!steps.isEmpty());
 	}
 
 	/**
@@ -187,19 +626,85 @@ public class EntitySqlGenerator implements Closeable {
 	 *             if thew writer throws one
 	 */
 	public void writeComment(final String comment) throws IOException {
+		writeGroupedStatements();
+		writePendingInserts();
 		this.writer.write("/* " + comment + " */\n");
 	}
 
-	private <E> void writeInserts(final E entity, final List<Object> postponedEntities,
-			final EntityClass<E> classDescription, final String discriminator) throws IOException {
+	/**
+	 * Disables the checks of the constraints of the given table, if {@link GeneratorContext#DISABLE_CONSTRAINTS_KEY
+	 * requested} and not done before.
+	 *
+	 * Before the first table, the checks are disabled for the session and for all tables known to the context.
+	 * Subclasses that write statements to the {@link #writer} directly should call this method before.
+	 *
+	 * @param table
+	 *            the table of the next statement
+	 * @throws IOException
+	 *             if the writer throws one
+	 */
+	protected void writeDisableConstraints(final String table) throws IOException {
+		appendDisableConstraints(this.writer, table);
+	}
+
+	/**
+	 * Enables the checks of all constraints again, that were disabled by {@link #writeDisableConstraints(String)}.
+	 *
+	 * @throws IOException
+	 *             if the writer throws one
+	 */
+	protected void writeEnableConstraints() throws IOException {
+		appendEnableConstraints(this.writer);
+	}
+
+	/**
+	 * Writes all statements that were kept back to group them by table.
+	 *
+	 * @throws IOException
+	 *             if the writer throws one
+	 */
+	private void writeGroupedStatements() throws IOException {
+		if (!this.groupedStatements.isEmpty()) {
+			final TableDependencyGraph dependencies = this.context.getTableDependencies();
+			// The sort is stable, so the statements of one group of tables stay in the order of their generation
+			this.groupedStatements.sort(Comparator.comparingInt(stmt -> dependencies.getPosition(stmt.getTable())));
+			for (final EntityStatement stmt : this.groupedStatements) {
+				writeStatement(stmt);
+			}
+			this.groupedStatements.clear();
+		}
+	}
+
+	/**
+	 * Restarts all sequences and identity columns after the {@link GeneratorContext#EXPLICIT_IDS_KEY explicit IDs},
+	 * when the generator is closed.
+	 *
+	 * @throws IOException
+	 *             if the writer throws one
+	 */
+	protected void writeIdRestarts() throws IOException {
+		appendIdRestarts(this.writer);
+	}
+
+	/**
+	 * Writes the insert statement for one table of an entity. Any joined parent table is already written.
+	 *
+	 * @param entity
+	 *            the entity to write
+	 * @param classDescription
+	 *            the description of the class that contains the table
+	 * @param discriminator
+	 *            the discriminator of the entity class
+	 * @throws IOException
+	 *             if the writer throws one
+	 */
+	private <E> void writeInsert(final E entity, final EntityClass<E> classDescription,
+			final ColumnExpression discriminator) throws IOException {
 		// Create the insert statement
 		final InsertStatement stmt = new InsertStatement(classDescription.getTable());
 
 		if (classDescription.getJoinedParentClass() != null) {
-			// Write the parent tables
-			writeInserts(entity, postponedEntities, classDescription.getJoinedParentClass(), discriminator);
-
-			// And add the id as foreign key column
+			// Add the id as foreign key column
 			stmt.addValue(classDescription.getPrimaryKeyJoinColumn(),
 					classDescription.getEntityReference(entity, null, false));
 		} else {
@@ -218,29 +723,30 @@ public class EntitySqlGenerator implements Closeable {
 		}
 
 		// Write the statement
-		writeStatement(stmt);
+		addStatement(stmt);
 
 		// And all postponed statements
-		final List<EntityStatement> updates = classDescription.createPostInsertStatements(entity);
-		if (!updates.isEmpty()) {
-			for (final EntityStatement update : updates) {
-				writeStatement(update);
-			}
+		for (final EntityStatement update : classDescription.createPostInsertStatements(entity)) {
+			addStatement(update);
 		}
+	}
 
-		for (final Property<E, ?> property : classDescription.getProperties().values()) {
-			// Write all missing entities, even those that have no column (because they are referencing us and
-			// we are created now)
-			for (final Object referencedEntity : property.findReferencedEntities(entity)) {
-				if (!postponedEntities.contains(referencedEntity)) {
-					write(referencedEntity, postponedEntities);
-				}
-			}
-
-			// Generate additional statements
-			for (final EntityStatement additionalStmt : property.buildAdditionalStatements(entity)) {
-				writeStatement(additionalStmt);
-			}
+	/**
+	 * Writes all inserts that were kept back to combine them into one statement.
+	 *
+	 * Necessary for subclasses, before they write to the {@link #writer} directly.
+	 *
+	 * @throws IOException
+	 *             if the writer throws one
+	 */
+	protected void writePendingInserts() throws IOException {
+		if (!this.pendingInserts.isEmpty()) {
+			writeTransactionStart();
+			this.context.getDialect().appendSql(this.pendingInserts, this.writer);
+			final int count = this.pendingInserts.size();
+			this.pendingInserts.clear();
+			this.pendingInsertsSize = 0;
+			countStatements(count);
 		}
 	}
 
@@ -248,29 +754,89 @@ public class EntitySqlGenerator implements Closeable {
 	 * Writes the given statement to the {@link #writer}. May be overridden, if the statements should be written
 	 * somewhere else (e.g. directly into a database).
 	 *
+	 * If {@link GeneratorContext#MAX_INSERT_ROWS_KEY multi-row inserts} are enabled, consecutive inserts into the same
+	 * table are kept back until a different statement is written or the next insert would exceed the limits of the
+	 * context or dialect.
+	 *
 	 * @param stmt
 	 *            the SQL statement to write
 	 * @throws IOException
 	 *             if the writer throws one
 	 */
 	protected void writeStatement(final EntityStatement stmt) throws IOException {
-		this.writer.write(this.context.getDialect().createSql(stmt));
-	}
-
-	private <E, T> void writeTableEntities(final E entity, final List<Object> postponedEntities,
-			final Collection<Property<? super E, ?>> properties) throws IOException {
-		for (final Property<? super E, ?> property : properties) {
-			if (property instanceof EmbeddedProperty) {
-				final EmbeddedProperty<? super E, T> embeddedProperty = (EmbeddedProperty<? super E, T>) property;
-				this.<T, Object> writeTableEntities(embeddedProperty.getValue(entity), postponedEntities,
-						embeddedProperty.getEmbeddedProperties().values());
-			} else if (property.isTableColumn()) {
-				for (final Object value : property.findReferencedEntities(entity)) {
-					if (!postponedEntities.contains(value) || property.isRequired()) {
-						write(value, postponedEntities);
-					}
+		writeDisableConstraints(stmt.getTable());
+		final GeneratorDialect dialect = this.context.getDialect();
+		int maxRows = Math.min(this.context.getMaxInsertRows(), dialect.getMaxInsertRows());
+		if (this.context.getCommitInterval() > 0) {
+			// A multi-row insert must not exceed its transaction
+			maxRows = Math.min(maxRows, this.context.getCommitInterval()
+					- (this.commitPending ? 0 : this.uncommittedStatements));
+		}
+		if (maxRows > 1 && stmt instanceof InsertStatement
+				&& dialect.isMultiRowInsertPossible((InsertStatement) stmt)) {
+			this.lengthCounter.length = 0;
+			for (final ColumnExpression value : stmt.getValues().values()) {
+				value.appendSql(dialect, this.lengthCounter);
+			}
+			final int size = this.lengthCounter.length + 2 * stmt.getValues().size();
+			if (!this.pendingInserts.isEmpty()) {
+				// Even a complete multi-row insert is kept back, as the last row may need an IdentityVariableStatement
+				final InsertStatement firstStmt = this.pendingInserts.get(0);
+				if (this.pendingInserts.size() >= maxRows || !firstStmt.getTable().equals(stmt.getTable())
+						|| !firstStmt.getValues().keySet().equals(stmt.getValues().keySet())
+						|| this.pendingInsertsSize + size > this.context.getMaxInsertSize()) {
+					writePendingInserts();
 				}
 			}
+			this.pendingInserts.add((InsertStatement) stmt);
+			this.pendingInsertsSize += size;
+		} else {
+			if (stmt instanceof IdentityVariableStatement && this.pendingInserts.size() > 1) {
+				// The generated ID is only available for an insert of a single row
+				final InsertStatement lastStmt = this.pendingInserts.remove(this.pendingInserts.size() - 1);
+				writePendingInserts();
+				this.pendingInserts.add(lastStmt);
+			}
+			writePendingInserts();
+			if (!(stmt instanceof IdentityVariableStatement)) {
+				// The generated ID has to be stored before the commit of its insert
+				writeTransactionStart();
+			}
+			dialect.appendSql(stmt, this.writer);
+			countStatements(1);
+		}
+	}
+
+	/**
+	 * Commits the current transaction, if one was started for the {@link GeneratorContext#COMMIT_INTERVAL_KEY commit
+	 * interval}.
+	 *
+	 * @throws IOException
+	 *             if the writer throws one
+	 */
+	protected void writeTransactionEnd() throws IOException {
+		if (this.transactionStarted) {
+			this.context.getDialect().appendCommit(this.writer);
+			this.transactionStarted = false;
+			this.uncommittedStatements = 0;
+			this.commitPending = false;
+		}
+	}
+
+	/**
+	 * Starts a new transaction, if a {@link GeneratorContext#COMMIT_INTERVAL_KEY commit interval} is set and no
+	 * transaction is open. Commits the current transaction before, if its commit interval is reached.
+	 *
+	 * @throws IOException
+	 *             if the writer throws one
+	 */
+	protected void writeTransactionStart() throws IOException {
+		if (this.commitPending) {
+			writeTransactionEnd();
+		}
+		if (this.context.getCommitInterval() > 0 && !this.transactionStarted) {
+			this.context.getDialect().appendTransactionStart(this.writer);
+			this.transactionStarted = true;
 		}
 	}
 
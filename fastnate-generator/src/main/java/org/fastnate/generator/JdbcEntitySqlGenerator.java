@@ -0,0 +1,398 @@
+package org.fastnate.generator;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.output.NullWriter;
+import org.apache.commons.lang.StringUtils;
+import org.fastnate.generator.context.GeneratorContext;
+import org.fastnate.generator.dialect.GeneratorDialect;
+import org.fastnate.generator.statements.ColumnExpression;
+import org.fastnate.generator.statements.EntityStatement;
+import org.fastnate.generator.statements.IdentityVariableStatement;
+import org.fastnate.generator.statements.InsertStatement;
+import org.fastnate.generator.statements.PlainColumnExpression;
+import org.fastnate.generator.statements.PrimitiveColumnExpression;
+import org.fastnate.generator.statements.TemporalColumnExpression;
+import org.fastnate.generator.statements.UpdateStatement;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Writes the statements of entities directly into a database.
+ *
+ * Literal values are bound as parameters of {@link PreparedStatement}s, which are reused for all statements with the
+ * same table and columns and executed in batches. Only statements that contain other expressions (like subselects or
+ * sequence values) are executed as plain SQL.
+ *
+ * The connection is not closed by this generator. If a {@link GeneratorContext#COMMIT_INTERVAL_KEY commit interval}
+ * is set, the generator disables the auto commit mode of the connection and commits the transaction after that count
+ * of statements and when the generator is flushed or closed.
+ *
+ * @author Tobias Liefke
+ */
+public class JdbcEntitySqlGenerator extends EntitySqlGenerator {
+
+	/** The default count of statements that are executed in one batch. */
+	public static final int DEFAULT_BATCH_SIZE = 100;
+
+	/**
+	 * Converts the given expression to a parameter value.
+	 *
+	 * @param expression
+	 *            the expression of a value
+	 * @return the value for the parameter or {@code null} if the expression is no literal
+	 */
+	private static Object toParameter(final ColumnExpression expression) {
+		if (expression instanceof TemporalColumnExpression) {
+			final TemporalColumnExpression temporal = (TemporalColumnExpression) expression;
+			final Date value = temporal.getValue();
+			if (GeneratorDialect.NOW.equals(value)) {
+				return null;
+			}
+			switch (temporal.getType()) {
+			case DATE:
+				return new java.sql.Date(value.getTime());
+			case TIME:
+				return new Time(value.getTime());
+			case TIMESTAMP:
+			default:
+				return value instanceof Timestamp ? value : new Timestamp(value.getTime());
+			}
+		}
+		if (expression instanceof PrimitiveColumnExpression) {
+			return ((PrimitiveColumnExpression<?>) expression).getValue();
+		}
+		return null;
+	}
+
+	/** The connection to the database. */
+	@Getter
+	private final Connection connection;
+
+	/** The maximum count of statements that are executed in one batch. */
+	@Getter
+	@Setter
+	private int batchSize = DEFAULT_BATCH_SIZE;
+
+	/** The prepared statements, mapped by their SQL. */
+	private final Map<String, PreparedStatement> preparedStatements = new HashMap<>();
+
+	/** The statement that contains the current batch. */
+	private PreparedStatement batchStatement;
+
+	/** The count of statements in the current batch. */
+	private int batchCount;
+
+	/**
+	 * The parameters of the last statement for the {@link #batchStatement}, which is kept back from the batch in case
+	 * that an {@link IdentityVariableStatement} needs the ID generated by it.
+	 */
+	private List<Object> lastParameters;
+
+	/** The count of statements that were executed since the last commit. */
+	private int uncommittedCount;
+
+	/**
+	 * Creates a new generator for the given connection.
+	 *
+	 * @param connection
+	 *            the connection to the database
+	 * @param context
+	 *            the context of the generator
+	 */
+	public JdbcEntitySqlGenerator(final Connection connection, final GeneratorContext context) {
+		super(NullWriter.NULL_WRITER, context);
+		this.connection = connection;
+	}
+
+	private void addLastStatement() throws SQLException {
+		if (this.lastParameters != null) {
+			setParameters(this.batchStatement, this.lastParameters);
+			this.batchStatement.addBatch();
+			this.lastParameters = null;
+			this.batchCount++;
+		}
+	}
+
+	private void addParameters(final StringBuilder sql, final List<Object> parameters, final ColumnExpression value) {
+		if (value == PlainColumnExpression.NULL) {
+			sql.append(PlainColumnExpression.NULL.getExpression());
+		} else {
+			sql.append('?');
+			parameters.add(toParameter(value));
+		}
+	}
+
+	/**
+	 * Executes all pending statements, commits the transaction (if a {@link GeneratorContext#COMMIT_INTERVAL_KEY
+	 * commit interval} is set) and closes all prepared statements. The connection is not closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			try {
+				for (final PreparedStatement statement : this.preparedStatements.values()) {
+					statement.close();
+				}
+			} catch (final SQLException e) {
+				throw new IOException(e);
+			} finally {
+				this.preparedStatements.clear();
+				super.close();
+			}
+		}
+	}
+
+	private void commitIfNecessary(final boolean force) throws SQLException {
+		final int commitInterval = getContext().getCommitInterval();
+		if (commitInterval > 0 && this.uncommittedCount > 0 && (force || this.uncommittedCount >= commitInterval)) {
+			this.connection.commit();
+			this.uncommittedCount = 0;
+		}
+	}
+
+	/**
+	 * Builds the SQL for a prepared statement.
+	 *
+	 * @param stmt
+	 *            the current statement
+	 * @param parameters
+	 *            the list of parameter values for the prepared statement, filled by this method
+	 * @return the SQL for the prepared statement or {@code null} if the statement can't be prepared
+	 */
+	private String createPreparedSql(final EntityStatement stmt, final List<Object> parameters) {
+		for (final ColumnExpression value : stmt.getValues().values()) {
+			if (value != PlainColumnExpression.NULL && toParameter(value) == null) {
+				return null;
+			}
+		}
+		if (stmt instanceof InsertStatement) {
+			if (stmt.getValues().isEmpty()) {
+				return null;
+			}
+			final StringBuilder sql = new StringBuilder("INSERT INTO ").append(stmt.getTable()).append(" (");
+			sql.append(StringUtils.join(stmt.getValues().keySet(), ", ")).append(") VALUES (");
+			for (final Iterator<ColumnExpression> values = stmt.getValues().values().iterator(); values.hasNext();) {
+				addParameters(sql, parameters, values.next());
+				if (values.hasNext()) {
+					sql.append(", ");
+				}
+			}
+			return sql.append(')').toString();
+		}
+		if (stmt instanceof UpdateStatement) {
+			final UpdateStatement update = (UpdateStatement) stmt;
+			if (toParameter(update.getIdValue()) == null) {
+				return null;
+			}
+			final StringBuilder sql = new StringBuilder("UPDATE ").append(stmt.getTable()).append(" SET ");
+			for (final Iterator<Map.Entry<String, ColumnExpression>> entries = stmt.getValues().entrySet()
+					.iterator(); entries.hasNext();) {
+				final Map.Entry<String, ColumnExpression> entry = entries.next();
+				addParameters(sql.append(entry.getKey()).append(" = "), parameters, entry.getValue());
+				if (entries.hasNext()) {
+					sql.append(", ");
+				}
+			}
+			sql.append(" WHERE ").append(update.getIdColumn()).append(" = ");
+			addParameters(sql, parameters, update.getIdValue());
+			return sql.toString();
+		}
+		return null;
+	}
+
+	/**
+	 * Executes all statements of the current batch.
+	 *
+	 * @param separateLastStatement
+	 *            indicates to execute the last statement on its own, as the ID generated by it is needed afterwards
+	 */
+	private void executeBatch(final boolean separateLastStatement) throws SQLException {
+		if (this.batchStatement != null) {
+			if (!separateLastStatement) {
+				addLastStatement();
+			}
+			executeBatchedStatements();
+			if (this.lastParameters != null) {
+				setParameters(this.batchStatement, this.lastParameters);
+				this.batchStatement.executeUpdate();
+				this.uncommittedCount++;
+				this.lastParameters = null;
+			}
+			this.batchStatement = null;
+		}
+	}
+
+	private void executeBatchedStatements() throws SQLException {
+		if (this.batchCount > 0) {
+			this.batchStatement.executeBatch();
+			this.uncommittedCount += this.batchCount;
+			this.batchCount = 0;
+		}
+	}
+
+	/**
+	 * Executes the statements of a script, which writes one statement per line.
+	 *
+	 * @param sql
+	 *            the script
+	 * @throws IOException
+	 *             if the database throws an exception
+	 */
+	private void executeScript(final CharSequence sql) throws IOException {
+		if (sql.length() > 0) {
+			try (Statement statement = this.connection.createStatement()) {
+				startTransaction();
+				for (final String line : StringUtils.split(sql.toString(), '\n')) {
+					statement.execute(StringUtils.removeEnd(line.trim(), ";"));
+					this.uncommittedCount++;
+				}
+			} catch (final SQLException e) {
+				throw new IOException(e);
+			}
+		}
+	}
+
+	/**
+	 * Executes all pending statements and commits the transaction, if a {@link GeneratorContext#COMMIT_INTERVAL_KEY
+	 * commit interval} is set.
+	 */
+	@Override
+	public void flush() throws IOException {
+		super.flush();
+		try {
+			executeBatch(false);
+			commitIfNecessary(true);
+		} catch (final SQLException e) {
+			throw new IOException(e);
+		}
+	}
+
+	private static void setParameters(final PreparedStatement statement, final List<Object> parameters)
+			throws SQLException {
+		for (int i = 0; i < parameters.size(); i++) {
+			statement.setObject(i + 1, parameters.get(i));
+		}
+	}
+
+	private void startTransaction() throws SQLException {
+		if (getContext().getCommitInterval() > 0 && this.connection.getAutoCommit()) {
+			this.connection.setAutoCommit(false);
+		}
+	}
+
+	/**
+	 * Ignores the comment, as there is no script.
+	 */
+	@Override
+	public void writeComment(final String comment) {
+		// Nothing to do
+	}
+
+	/**
+	 * Executes the statements that disable the checks of the constraints of the given table, if requested.
+	 */
+	@Override
+	protected void writeDisableConstraints(final String table) throws IOException {
+		final StringBuilder sql = new StringBuilder();
+		appendDisableConstraints(sql, table);
+		executeScript(sql);
+	}
+
+	/**
+	 * Executes the statements that enable the checks of all disabled constraints again and commits them, if a
+	 * {@link GeneratorContext#COMMIT_INTERVAL_KEY commit interval} is set.
+	 */
+	@Override
+	protected void writeEnableConstraints() throws IOException {
+		final StringBuilder sql = new StringBuilder();
+		appendEnableConstraints(sql);
+		executeScript(sql);
+		try {
+			commitIfNecessary(true);
+		} catch (final SQLException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Executes the statements that restart all sequences and identity columns and commits them, if a
+	 * {@link GeneratorContext#COMMIT_INTERVAL_KEY commit interval} is set.
+	 */
+	@Override
+	protected void writeIdRestarts() throws IOException {
+		final StringBuilder sql = new StringBuilder();
+		appendIdRestarts(sql);
+		executeScript(sql);
+		try {
+			commitIfNecessary(true);
+		} catch (final SQLException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Executes the given statement (at least in the next batch).
+	 *
+	 * An insert followed by an {@link IdentityVariableStatement} is executed on its own and both statements are
+	 * executed in the same transaction, as the generated ID is only available directly after the insert.
+	 */
+	@Override
+	protected void writeStatement(final EntityStatement stmt) throws IOException {
+		final List<Object> parameters = new ArrayList<>();
+		final String preparedSql = createPreparedSql(stmt, parameters);
+		final boolean identityVariable = stmt instanceof IdentityVariableStatement;
+		String sql = preparedSql;
+		writeDisableConstraints(stmt.getTable());
+		try {
+			startTransaction();
+			if (!identityVariable) {
+				commitIfNecessary(false);
+			}
+			if (preparedSql == null) {
+				// Statements that read from the database need all rows written before
+				executeBatch(identityVariable);
+				sql = StringUtils.removeEnd(getContext().getDialect().createSql(stmt).trim(), ";");
+				try (Statement statement = this.connection.createStatement()) {
+					statement.executeUpdate(sql);
+				}
+				this.uncommittedCount++;
+			} else {
+				PreparedStatement statement = this.preparedStatements.get(preparedSql);
+				if (statement == null) {
+					statement = this.connection.prepareStatement(preparedSql);
+					this.preparedStatements.put(preparedSql, statement);
+				}
+				if (statement != this.batchStatement) {
+					// Keep the order of all statements
+					executeBatch(false);
+					this.batchStatement = statement;
+				} else {
+					addLastStatement();
+					if (this.batchCount >= this.batchSize) {
+						executeBatchedStatements();
+					}
+				}
+				this.lastParameters = parameters;
+			}
+		} catch (final SQLException e) {
+			throw new IOException("Could not execute " + sql, e);
+		}
+	}
+
+}
@@ -0,0 +1,91 @@
+package org.fastnate.generator;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contains the entities that are currently written by an {@link EntitySqlGenerator}, but are postponed until all
+ * entities they depend on are written.
+ *
+ * Entities are identified by their identity (and not by {@link Object#equals(Object)}) and each operation has
+ * constant cost.
+ *
+ * @author Tobias Liefke
+ */
+final class PostponedEntities {
+
+	/** The postponed entities in the order of their addition. Removed entities are replaced by {@code null}. */
+	private final List<Object> stack = new ArrayList<>();
+
+	/** The index of every postponed entity in the {@link #stack}. */
+	private final Map<Object, Integer> indices = new IdentityHashMap<>();
+
+	/**
+	 * Adds an entity to the end of the postponed entities.
+	 *
+	 * @param entity
+	 *            the entity that is written later
+	 */
+	void add(final Object entity) {
+		this.indices.put(entity, this.stack.size());
+		this.stack.add(entity);
+	}
+
+	/**
+	 * Indicates that the given entity is postponed.
+	 *
+	 * @param entity
+	 *            the entity to check
+	 * @return {@code true} if the entity is contained in the postponed entities
+	 */
+	boolean contains(final Object entity) {
+		return this.indices.containsKey(entity);
+	}
+
+	/**
+	 * Indicates that the given entity is already postponed, but is required by another entity now.
+	 *
+	 * @param entity
+	 *            the entity to check
+	 * @return {@code true} if the entity was postponed before
+	 * @throws IllegalArgumentException
+	 *             if the entity was the last postponed entity - which indicates a required dependency in an endless
+	 *             loop
+	 */
+	boolean isPostponedInsert(final Object entity) {
+		final Integer index = this.indices.get(entity);
+		if (index == null) {
+			return false;
+		}
+		if (index == this.stack.size() - 1) {
+			// We have a required dependency in an endless loop
+			throw new IllegalArgumentException("An entity requires another entity that itself requires the first one.");
+		}
+		return true;
+	}
+
+	/**
+	 * Removes the given entity from the postponed entities.
+	 *
+	 * @param entity
+	 *            the entity to remove
+	 * @return {@code true} if the entity was postponed up to now
+	 */
+	boolean remove(final Object entity) {
+		final Integer index = this.indices.remove(entity);
+		if (index == null) {
+			return false;
+		}
+		this.stack.set(index, null);
+
+		// Ensure that the last element is always a postponed entity
+		int last = this.stack.size() - 1;
+		while (last >= 0 && this.stack.get(last) == null) {
+			this.stack.remove(last--);
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,275 @@
+package org.fastnate.generator;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.fastnate.generator.context.GeneratorContext;
+import org.fastnate.generator.context.TableDependencyGraph;
+import org.fastnate.generator.statements.EntityStatement;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Preconditions;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Splits the generated SQL into several files (called shards) and writes a manifest with the dependencies between
+ * these files.
+ *
+ * A new shard is started, if the current shard exceeds the {@link #maxShardSize} or if {@link #splitTableGroups} is
+ * set and the next statement is for a table that is not {@link TableDependencyGraph#isSameGroup related} to the
+ * previous one. The latter is mostly useful together with {@link GeneratorContext#GROUP_BY_TABLE_KEY grouped
+ * statements}.
+ *
+ * The manifest contains one line per shard, in the order of generation: the file name of the shard followed by
+ * {@code ':'} and the file names of all shards that need to be loaded before. Shards that don't depend on each other
+ * may be loaded concurrently. If a {@link GeneratorContext#COMMIT_INTERVAL_KEY commit interval} is set, every shard
+ * ends with a commit. Without {@link GeneratorContext#EXPLICIT_IDS_KEY explicit IDs} the statements may depend
+ * on the current value of sequences or identity columns, so every shard depends on its predecessor in that case.
+ *
+ * As every shard may be loaded in its own session, this generator can't store the values of identity columns in
+ * {@link GeneratorContext#IDENTITY_VARIABLES_KEY identity variables}.
+ *
+ * @author Tobias Liefke
+ */
+public class ShardedEntitySqlGenerator extends EntitySqlGenerator {
+
+	/**
+	 * One file of the generated SQL.
+	 */
+	@RequiredArgsConstructor
+	private static final class Shard {
+
+		private final File file;
+
+		/** The tables of all statements in the shard. */
+		private final Set<String> tables = new LinkedHashSet<>();
+
+		/** The table of the last statement in the shard. */
+		private String lastTable;
+
+	}
+
+	/**
+	 * Writes to the file of the current shard.
+	 */
+	private static final class ShardWriter extends Writer {
+
+		private final List<Shard> shards = new ArrayList<>();
+
+		private final File directory;
+
+		private final String baseName;
+
+		private final Charset encoding;
+
+		private Writer writer;
+
+		private long size;
+
+		ShardWriter(final File directory, final String baseName, final Charset encoding) {
+			this.directory = directory;
+			this.baseName = baseName;
+			this.encoding = encoding;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (this.writer != null) {
+				this.writer.close();
+				this.writer = null;
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			if (this.writer != null) {
+				this.writer.flush();
+			}
+		}
+
+		Shard getCurrentShard() throws IOException {
+			if (this.writer == null) {
+				startShard();
+			}
+			return this.shards.get(this.shards.size() - 1);
+		}
+
+		void startShard() throws IOException {
+			close();
+			final Shard shard = new Shard(
+					new File(this.directory, this.baseName + '.' + (this.shards.size() + 1) + ".sql"));
+			this.writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(shard.file), this.encoding));
+			this.shards.add(shard);
+			this.size = 0;
+		}
+
+		@Override
+		public void write(final char[] cbuf, final int off, final int len) throws IOException {
+			getCurrentShard();
+			this.writer.write(cbuf, off, len);
+			this.size += len;
+		}
+
+		@Override
+		public void write(final String str, final int off, final int len) throws IOException {
+			getCurrentShard();
+			this.writer.write(str, off, len);
+			this.size += len;
+		}
+
+	}
+
+	private static final Joiner JOINER = Joiner.on(' ');
+
+	/** The directory of the shards and the manifest. */
+	@Getter
+	private final File directory;
+
+	/**
+	 * The name of the generated files. The shards are named {@code baseName.n.sql} and the manifest
+	 * {@code baseName.manifest}.
+	 */
+	@Getter
+	private final String baseName;
+
+	/** The maximum count of characters in one shard, {@code 0} if the size of the shards is unlimited. */
+	@Getter
+	@Setter
+	private long maxShardSize;
+
+	/** Indicates to start a new shard for every group of related tables. */
+	@Getter
+	@Setter
+	private boolean splitTableGroups;
+
+	/**
+	 * Creates a new generator that writes the shards and the manifest into the given directory.
+	 *
+	 * @param directory
+	 *            the directory of the generated files
+	 * @param baseName
+	 *            the name of the generated files (without extension)
+	 * @param encoding
+	 *            the encoding of the shards
+	 * @param context
+	 *            the context of the generator, without identity variables
+	 * @throws IllegalArgumentException
+	 *             if the context uses identity variables
+	 */
+	public ShardedEntitySqlGenerator(final File directory, final String baseName, final Charset encoding,
+			final GeneratorContext context) {
+		super(new ShardWriter(directory, baseName, encoding), context);
+		Preconditions.checkArgument(context.getIdentityVariables() <= 0 || context.isExplicitIds(),
+				"Identity variables are not possible for shards, as these may be loaded in different sessions");
+		this.directory = directory;
+		this.baseName = baseName;
+	}
+
+	/**
+	 * Writes any missing SQL, closes the last shard and writes the manifest.
+	 */
+	@Override
+	public void close() throws IOException {
+		super.close();
+		writeManifest();
+	}
+
+	/**
+	 * The file of the manifest.
+	 *
+	 * @return the file that contains the dependencies of the shards
+	 */
+	public File getManifest() {
+		return new File(this.directory, this.baseName + ".manifest");
+	}
+
+	/**
+	 * All shards written up to now.
+	 *
+	 * @return the files of all shards, in the order of generation
+	 */
+	public List<File> getShards() {
+		final List<File> files = new ArrayList<>();
+		for (final Shard shard : getShardWriter().shards) {
+			files.add(shard.file);
+		}
+		return files;
+	}
+
+	private ShardWriter getShardWriter() {
+		return (ShardWriter) getWriter();
+	}
+
+	private boolean isDependent(final Shard shard, final Shard previousShard) {
+		final TableDependencyGraph dependencies = getContext().getTableDependencies();
+		for (final String table : shard.tables) {
+			for (final String previousTable : previousShard.tables) {
+				if (dependencies.isSameGroup(table, previousTable)
+						|| dependencies.getReferencedTables(table).contains(previousTable)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private void writeManifest() throws IOException {
+		final List<Shard> shards = getShardWriter().shards;
+		try (Writer manifest = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(getManifest()),
+				getShardWriter().encoding))) {
+			for (int i = 0; i < shards.size(); i++) {
+				final Shard shard = shards.get(i);
+				final List<String> dependencies = new ArrayList<>();
+				if (getContext().isExplicitIds()) {
+					for (int j = 0; j < i; j++) {
+						if (isDependent(shard, shards.get(j))) {
+							dependencies.add(shards.get(j).file.getName());
+						}
+					}
+				} else if (i > 0) {
+					dependencies.add(shards.get(i - 1).file.getName());
+				}
+				manifest.write(shard.file.getName() + ':');
+				if (!dependencies.isEmpty()) {
+					JOINER.appendTo(manifest.append(' '), dependencies);
+				}
+				manifest.write('\n');
+			}
+		}
+	}
+
+	/**
+	 * Starts a new shard, if necessary, and writes the statement to the current shard.
+	 */
+	@Override
+	protected void writeStatement(final EntityStatement stmt) throws IOException {
+		final ShardWriter shardWriter = getShardWriter();
+		Shard shard = shardWriter.getCurrentShard();
+		if (shard.lastTable != null && (this.maxShardSize > 0 && shardWriter.size >= this.maxShardSize
+				|| this.splitTableGroups
+						&& !getContext().getTableDependencies().isSameGroup(shard.lastTable, stmt.getTable()))) {
+			writePendingInserts();
+			writeTransactionEnd();
+			// Every shard disables the constraints on its own, as it may be executed in its own session
+			writeEnableConstraints();
+			shardWriter.startShard();
+			shard = shardWriter.getCurrentShard();
+		}
+		shard.tables.add(stmt.getTable());
+		shard.lastTable = stmt.getTable();
+		super.writeStatement(stmt);
+	}
+
+}
@@ -0,0 +1,336 @@
+package org.fastnate.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.fastnate.generator.context.GeneratorContext;
+import org.fastnate.generator.context.UniquePropertyQuality;
+import org.fastnate.generator.dialect.GeneratorDialect;
+import org.fastnate.generator.statements.ColumnExpression;
+import org.fastnate.generator.statements.EntityStatement;
+import org.fastnate.generator.statements.IdentityVariableStatement;
+import org.fastnate.generator.statements.InsertStatement;
+import org.fastnate.generator.statements.NumberColumnExpression;
+import org.fastnate.generator.statements.UniqueReferenceColumnExpression;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Preconditions;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Resolves the references of many rows to entities with {@link GeneratorContext#UNIQUE_PROPERTIES_QUALITY_KEY unique
+ * properties} at once, instead of selecting the ID of the referenced entity in every insert.
+ *
+ * Consecutive inserts into the same table, that reference other tables by {@link UniqueReferenceColumnExpression
+ * unique properties}, are collected. The collected rows are written into a temporary staging table, which contains
+ * the values of the unique properties instead of the references. Afterwards all rows are copied into the target table
+ * with one {@code INSERT ... SELECT}, that joins the staging table with the referenced tables. That way the database
+ * resolves all references with one set based operation.
+ *
+ * This is mostly useful together with {@link GeneratorContext#GROUP_BY_TABLE_KEY grouped statements}, as that creates
+ * long sequences of inserts into the same table. If less than {@link #minStagingRows} were collected, the inserts are
+ * written as usual.
+ *
+ * @author Tobias Liefke
+ */
+public class StagingEntitySqlGenerator extends EntitySqlGenerator {
+
+	/**
+	 * The collected rows for one staging table.
+	 */
+	private static final class StagingBatch {
+
+		private final String table;
+
+		/** The references of the first row, mapped by their column. */
+		private final Map<String, UniqueReferenceColumnExpression> references = new LinkedHashMap<>();
+
+		private final List<InsertStatement> rows = new ArrayList<>();
+
+		StagingBatch(final InsertStatement firstRow) {
+			this.table = firstRow.getTable();
+			for (final Map.Entry<String, ColumnExpression> value : firstRow.getValues().entrySet()) {
+				if (value.getValue() instanceof UniqueReferenceColumnExpression) {
+					this.references.put(value.getKey(), (UniqueReferenceColumnExpression) value.getValue());
+				}
+			}
+			this.rows.add(firstRow);
+		}
+
+		boolean matches(final InsertStatement stmt) {
+			if (!this.table.equals(stmt.getTable())
+					|| !this.rows.get(0).getValues().keySet().equals(stmt.getValues().keySet())) {
+				return false;
+			}
+			for (final Map.Entry<String, ColumnExpression> value : stmt.getValues().entrySet()) {
+				final UniqueReferenceColumnExpression reference = this.references.get(value.getKey());
+				if (reference == null ? value.getValue() instanceof UniqueReferenceColumnExpression
+						: !isSameReference(reference, value.getValue())) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+	}
+
+	private static final Joiner JOINER = Joiner.on(", ");
+
+	private static final String STAGING_ALIAS = "s";
+
+	private static final String TARGET_ALIAS = "t";
+
+	private static final String REFERENCE_ALIAS = "r";
+
+	private static final String KEY_COLUMN = "fastnate_key_";
+
+	private static final String ROW_COLUMN = "fastnate_row";
+
+	private static boolean isSameReference(final UniqueReferenceColumnExpression reference,
+			final ColumnExpression value) {
+		if (!(value instanceof UniqueReferenceColumnExpression)) {
+			return false;
+		}
+		final UniqueReferenceColumnExpression otherReference = (UniqueReferenceColumnExpression) value;
+		return reference.getTable().equals(otherReference.getTable())
+				&& reference.getColumn().equals(otherReference.getColumn())
+				&& reference.getKeys().keySet().equals(otherReference.getKeys().keySet());
+	}
+
+	/** The minimum count of rows that are written into a staging table. Less rows are inserted directly. */
+	@Getter
+	@Setter
+	private int minStagingRows = 100;
+
+	/** The maximum count of rows that are collected in a staging table, before they are inserted. */
+	@Getter
+	@Setter
+	private int maxStagingRows = 10000;
+
+	/** The rows collected for the current staging table. */
+	private StagingBatch batch;
+
+	/**
+	 * Creates a new generator.
+	 *
+	 * @param writer
+	 *            the writer of the generated SQL
+	 * @param context
+	 *            the context of the generator
+	 * @throws IllegalArgumentException
+	 *             if the dialect of the context does not support staging tables
+	 */
+	public StagingEntitySqlGenerator(final Writer writer, final GeneratorContext context) {
+		super(writer, context);
+		Preconditions.checkArgument(context.getDialect().isStagingTableSupported(),
+				"Staging tables are not supported by " + context.getDialect().getClass().getSimpleName());
+	}
+
+	/**
+	 * Writes all collected rows and closes the writer.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			super.close();
+		}
+	}
+
+	/**
+	 * Builds a row for the staging table, which contains the keys of the references instead of the references.
+	 *
+	 * @param stmt
+	 *            the insert statement for the target table, which matches the current batch
+	 * @param stagingTable
+	 *            the name of the staging table
+	 * @param row
+	 *            the index of the row in the current batch
+	 * @return the row for the staging table
+	 */
+	private InsertStatement createStagingRow(final InsertStatement stmt, final String stagingTable, final int row) {
+		final InsertStatement stagingRow = new InsertStatement(stagingTable);
+		int keyIndex = 0;
+		for (final String column : this.batch.rows.get(0).getValues().keySet()) {
+			final ColumnExpression value = stmt.getValues().get(column);
+			final UniqueReferenceColumnExpression reference = this.batch.references.get(column);
+			if (reference == null) {
+				stagingRow.addValue(column, value);
+			} else {
+				final Map<String, ColumnExpression> keys = ((UniqueReferenceColumnExpression) value).getKeys();
+				for (final String keyColumn : reference.getKeys().keySet()) {
+					stagingRow.addValue(KEY_COLUMN + keyIndex++, keys.get(keyColumn));
+				}
+			}
+		}
+		stagingRow.addValue(ROW_COLUMN, new NumberColumnExpression(row));
+		return stagingRow;
+	}
+
+	/**
+	 * Writes all pending statements, including the collected rows, and flushes the target writer.
+	 */
+	@Override
+	public void flush() throws IOException {
+		super.flush();
+		writeStagingBatch();
+		getWriter().flush();
+	}
+
+	/**
+	 * Indicates that the given statement references other tables by {@link UniquePropertyQuality unique properties}
+	 * and that it is independent of the rows inserted before into the same table.
+	 */
+	private boolean isStagingPossible(final InsertStatement stmt) {
+		final GeneratorDialect dialect = getContext().getDialect();
+		if (!dialect.isMultiRowInsertPossible(stmt)) {
+			return false;
+		}
+		// Every key has to be independent of the other rows, just like the values in a multi-row insert
+		final InsertStatement keys = new InsertStatement(stmt.getTable());
+		for (final ColumnExpression value : stmt.getValues().values()) {
+			if (value instanceof UniqueReferenceColumnExpression) {
+				final UniqueReferenceColumnExpression reference = (UniqueReferenceColumnExpression) value;
+				if (reference.getTable().equals(stmt.getTable())) {
+					// The referenced row may be one of the staged rows
+					return false;
+				}
+				for (final Map.Entry<String, ColumnExpression> key : reference.getKeys().entrySet()) {
+					keys.addValue(KEY_COLUMN + keys.getValues().size(), key.getValue());
+				}
+			}
+		}
+		return dialect.isMultiRowInsertPossible(keys);
+	}
+
+	/**
+	 * Collects the given statement for the current staging table, if it references other tables by
+	 * {@link UniquePropertyQuality unique properties}. Otherwise any collected rows are written before the statement.
+	 */
+	@Override
+	protected void writeStatement(final EntityStatement stmt) throws IOException {
+		if (stmt instanceof InsertStatement && isStagingPossible((InsertStatement) stmt)) {
+			final InsertStatement insert = (InsertStatement) stmt;
+			if (this.batch != null && !this.batch.matches(insert)) {
+				writeStagingBatch();
+			}
+			if (this.batch == null) {
+				this.batch = new StagingBatch(insert);
+			} else {
+				this.batch.rows.add(insert);
+			}
+			if (this.batch.rows.size() >= this.maxStagingRows) {
+				writeStagingBatch();
+			}
+		} else {
+			InsertStatement lastRow = null;
+			if (stmt instanceof IdentityVariableStatement && this.batch != null) {
+				// The generated ID is only available for an insert of a single row
+				lastRow = this.batch.rows.remove(this.batch.rows.size() - 1);
+				if (this.batch.rows.isEmpty()) {
+					this.batch = null;
+				}
+			}
+			writeStagingBatch();
+			if (lastRow != null) {
+				super.writeStatement(lastRow);
+			}
+			super.writeStatement(stmt);
+		}
+	}
+
+	/**
+	 * Writes the collected rows into the staging table and copies them into the target table afterwards.
+	 */
+	private void writeStagingBatch() throws IOException {
+		final StagingBatch currentBatch = this.batch;
+		if (currentBatch == null) {
+			return;
+		}
+		if (currentBatch.rows.size() < Math.max(2, this.minStagingRows)) {
+			this.batch = null;
+			for (final InsertStatement row : currentBatch.rows) {
+				super.writeStatement(row);
+			}
+			return;
+		}
+
+		final GeneratorContext context = getContext();
+		final GeneratorDialect dialect = context.getDialect();
+		final Writer writer = getWriter();
+		final String stagingTable = dialect.buildStagingTable(currentBatch.table);
+		writePendingInserts();
+		writeDisableConstraints(currentBatch.table);
+		writeTransactionStart();
+
+		// Create the staging table with the columns of the target table and the key columns of the referenced tables
+		final StringBuilder stagingColumns = new StringBuilder();
+		final StringBuilder tables = new StringBuilder(currentBatch.table).append(' ').append(TARGET_ALIAS);
+		final StringBuilder selectColumns = new StringBuilder();
+		final StringBuilder joins = new StringBuilder();
+		int keyIndex = 0;
+		int referenceIndex = 0;
+		for (final String column : currentBatch.rows.get(0).getValues().keySet()) {
+			if (selectColumns.length() > 0) {
+				stagingColumns.append(", ");
+				selectColumns.append(", ");
+			}
+			final UniqueReferenceColumnExpression reference = currentBatch.references.get(column);
+			if (reference == null) {
+				stagingColumns.append(TARGET_ALIAS).append('.').append(column);
+				selectColumns.append(STAGING_ALIAS).append('.').append(column);
+			} else {
+				final String alias = REFERENCE_ALIAS + referenceIndex++;
+				tables.append(", ").append(reference.getTable()).append(' ').append(alias);
+				selectColumns.append(alias).append('.').append(reference.getColumn());
+				joins.append(" LEFT JOIN ").append(reference.getTable()).append(' ').append(alias).append(" ON ");
+				for (final Iterator<String> keys = reference.getKeys().keySet().iterator(); keys.hasNext();) {
+					final String keyColumn = keys.next();
+					final String stagingColumn = KEY_COLUMN + keyIndex++;
+					stagingColumns.append(alias).append('.').append(keyColumn).append(" AS ").append(stagingColumn);
+					joins.append(alias).append('.').append(keyColumn).append(" = ").append(STAGING_ALIAS).append('.')
+							.append(stagingColumn);
+					if (keys.hasNext()) {
+						stagingColumns.append(", ");
+						joins.append(" AND ");
+					}
+				}
+			}
+		}
+		stagingColumns.append(", 0 AS ").append(ROW_COLUMN);
+		dialect.appendStagingTableCreate(writer, stagingTable, stagingColumns.toString(), tables.toString());
+
+		// Fill the staging table
+		final int maxRows = Math.max(1, Math.min(context.getMaxInsertRows(), dialect.getMaxInsertRows()));
+		final List<InsertStatement> stagingRows = new ArrayList<>(Math.min(maxRows, currentBatch.rows.size()));
+		for (int i = 0; i < currentBatch.rows.size(); i++) {
+			stagingRows.add(createStagingRow(currentBatch.rows.get(i), stagingTable, i));
+			if (stagingRows.size() >= maxRows) {
+				dialect.appendSql(stagingRows, writer);
+				stagingRows.clear();
+			}
+		}
+		if (!stagingRows.isEmpty()) {
+			dialect.appendSql(stagingRows, writer);
+		}
+
+		// Copy the rows into the target table, in the order of their generation for any identity column
+		writer.append("INSERT INTO ").append(currentBatch.table).append(" (");
+		JOINER.appendTo(writer, currentBatch.rows.get(0).getValues().keySet()).append(") SELECT ")
+				.append(selectColumns).append(" FROM ").append(stagingTable).append(' ').append(STAGING_ALIAS)
+				.append(joins).append(" ORDER BY ").append(STAGING_ALIAS).append('.').append(ROW_COLUMN)
+				.append(";\n");
+		dialect.appendStagingTableDrop(writer, stagingTable);
+		this.batch = null;
+		countStatements(currentBatch.rows.size());
+	}
+
+}
@@ -2,6 +2,9 @@ package org.fastnate.generator.context;
 
 import java.beans.Introspector;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -38,6 +41,12 @@ public enum AccessStyle {
 			@Getter
 			private final String name;
 
+			/** Reads the value of the field. */
+			private final MethodHandle getter;
+
+			/** Writes the value of the field. */
+			private final MethodHandle setter;
+
 			/**
 			 * Creates a new instance of a attribute with field access.
 			 *
@@ -47,6 +56,15 @@ public enum AccessStyle {
 			Accessor(final Field field) {
 				this.field = field;
 				this.name = field.getName();
+				if (!field.isAccessible()) {
+					field.setAccessible(true);
+				}
+				try {
+					this.getter = LOOKUP.unreflectGetter(field).asType(GETTER_TYPE);
+					this.setter = LOOKUP.unreflectSetter(field).asType(SETTER_TYPE);
+				} catch (final IllegalAccessException e) {
+					throw new IllegalStateException(e);
+				}
 			}
 
 			@Override
@@ -80,11 +98,10 @@ public enum AccessStyle {
 					return null;
 				}
 				try {
-					if (!this.field.isAccessible()) {
-						this.field.setAccessible(true);
-					}
-					return (T) this.field.get(entity);
-				} catch (final ReflectiveOperationException e) {
+					return (T) this.getter.invokeExact((Object) entity);
+				} catch (final Error e) {
+					throw e;
+				} catch (final Throwable e) {
 					throw new IllegalStateException(e);
 				}
 			}
@@ -104,11 +121,10 @@ public enum AccessStyle {
 			@Override
 			public <E, T> void setValue(final E entity, final T value) {
 				try {
-					if (!this.field.isAccessible()) {
-						this.field.setAccessible(true);
-					}
-					this.field.set(entity, value);
-				} catch (final ReflectiveOperationException e) {
+					this.setter.invokeExact((Object) entity, (Object) value);
+				} catch (final Error e) {
+					throw e;
+				} catch (final Throwable e) {
 					throw new IllegalStateException(e);
 				}
 			}
@@ -140,13 +156,16 @@ public enum AccessStyle {
 			/** The getter of the property. */
 			private final Method method;
 
-			/** The setter of the property. */
-			private Method setter;
-
 			/** The name of the attribute, inherited from {@link #method}. */
 			@Getter
 			private final String name;
 
+			/** Invokes the {@link #method}, {@code null} if the method is no getter. */
+			private final MethodHandle getter;
+
+			/** Invokes the setter of the property, {@code null} if the property has no setter. */
+			private final MethodHandle setter;
+
 			/**
 			 * Creates a new instance with property style access.
 			 *
@@ -155,7 +174,34 @@ public enum AccessStyle {
 			 */
 			Accessor(final Method getter) {
 				this.method = getter;
-				this.name = Introspector.decapitalize(getter.getName().replaceAll("^get|is", ""));
+				// Only cut the prefix, an "is" may be part of the name as well (like in "getDisplayName")
+				final String methodName = getter.getName();
+				this.name = Introspector.decapitalize(methodName.substring(methodName.startsWith("get") ? 3 : 2));
+				if (!getter.isAccessible()) {
+					getter.setAccessible(true);
+				}
+				try {
+					// Methods with parameters are never persistent
+					this.getter = getter.getParameterTypes().length == 0 ? LOOKUP.unreflect(getter).asType(GETTER_TYPE)
+							: null;
+					this.setter = findSetter();
+				} catch (final IllegalAccessException e) {
+					throw new IllegalStateException(e);
+				}
+			}
+
+			private MethodHandle findSetter() throws IllegalAccessException {
+				final Method setterMethod;
+				try {
+					setterMethod = this.method.getDeclaringClass().getDeclaredMethod(
+							"set" + StringUtils.capitalize(this.name), this.method.getReturnType());
+				} catch (final NoSuchMethodException e) {
+					return null;
+				}
+				if (!setterMethod.isAccessible()) {
+					setterMethod.setAccessible(true);
+				}
+				return LOOKUP.unreflect(setterMethod).asType(SETTER_TYPE);
 			}
 
 			@Override
@@ -188,12 +234,14 @@ public enum AccessStyle {
 				if (entity == null) {
 					return null;
 				}
+				if (this.getter == null) {
+					throw new IllegalStateException("Can't read " + this.method + ", as it expects parameters");
+				}
 				try {
-					if (!this.method.isAccessible()) {
-						this.method.setAccessible(true);
-					}
-					return (T) this.method.invoke(entity);
-				} catch (final ReflectiveOperationException | IllegalArgumentException e) {
+					return (T) this.getter.invokeExact((Object) entity);
+				} catch (final Error e) {
+					throw e;
+				} catch (final Throwable e) {
 					throw new IllegalStateException("Could not execute " + this.method + " on " + entity + ": " + e, e);
 				}
 			}
@@ -212,28 +260,15 @@ public enum AccessStyle {
 
 			@Override
 			public <E, T> void setValue(final E entity, final T value) {
+				if (this.setter == null) {
+					throw new ModelException("Can't find setter: " + this.method.getDeclaringClass() + ".set"
+							+ StringUtils.capitalize(this.name) + '(' + this.method.getReturnType() + ')');
+				}
 				try {
-					if (this.setter == null) {
-						final String setterName = "set" + StringUtils.capitalize(this.name);
-						final Class<?> paramType = this.method.getReturnType();
-						for (final Method m : this.method.getDeclaringClass().getDeclaredMethods()) {
-							if (m.getName().equals(setterName) && m.getParameterTypes().length == 1
-									&& m.getParameterTypes()[0] == paramType) {
-								this.setter = m;
-								break;
-							}
-						}
-						if (this.setter == null) {
-							throw new ModelException("Can't find setter: " + this.method.getDeclaringClass() + '.'
-									+ setterName + '(' + paramType + ')');
-						}
-
-						if (!this.setter.isAccessible()) {
-							this.setter.setAccessible(true);
-						}
-					}
-					this.setter.invoke(entity, value);
-				} catch (final ReflectiveOperationException e) {
+					this.setter.invokeExact((Object) entity, (Object) value);
+				} catch (final Error e) {
+					throw e;
+				} catch (final Throwable e) {
 					throw new IllegalStateException(e);
 				}
 			}
@@ -260,6 +295,15 @@ public enum AccessStyle {
 
 	};
 
+	/** Used to create the method handles for all attributes. */
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	/** The type of the method handles that read an attribute. */
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+	/** The type of the method handles that write an attribute. */
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
 	/**
 	 * Determines the correct mapping to the style for the given accesstype.
 	 *
@@ -18,8 +18,11 @@ import javax.persistence.OrderColumn;
 
 import org.fastnate.generator.converter.EntityConverter;
 import org.fastnate.generator.converter.ValueConverter;
+import org.fastnate.generator.statements.ColumnExpression;
 import org.fastnate.generator.statements.EntityStatement;
 import org.fastnate.generator.statements.InsertStatement;
+import org.fastnate.generator.statements.NumberColumnExpression;
+import org.fastnate.generator.statements.PlainColumnExpression;
 import org.fastnate.generator.statements.UpdateStatement;
 
 import com.google.common.base.Preconditions;
@@ -200,7 +203,8 @@ public class CollectionProperty<E, T> extends PluralProperty<E, Collection<T>, T
 		}
 
 		final List<EntityStatement> result = new ArrayList<>();
-		final String sourceId = EntityConverter.getEntityReference(entity, getMappedId(), getContext(), false);
+		final ColumnExpression sourceId = EntityConverter.getEntityReference(entity, getMappedId(), getContext(),
+				false);
 		int index = 0;
 		final Collection<T> collection = getValue(entity);
 		// Check for uniqueness, if no order column is given
@@ -223,11 +227,11 @@ public class CollectionProperty<E, T> extends PluralProperty<E, Collection<T>, T
 		return result;
 	}
 
-	private EntityStatement createDirectPropertyStatement(final E entity, final String sourceId, final int index,
-			final T value) {
-		final String target;
+	private EntityStatement createDirectPropertyStatement(final E entity, final ColumnExpression sourceId,
+			final int index, final T value) {
+		final ColumnExpression target;
 		if (value == null) {
-			target = "null";
+			target = PlainColumnExpression.NULL;
 		} else {
 			if (this.targetConverter != null) {
 				target = this.targetConverter.getExpression(value, getContext());
@@ -266,17 +270,18 @@ public class CollectionProperty<E, T> extends PluralProperty<E, Collection<T>, T
 			stmt.addValue(this.valueColumn, target);
 		}
 		if (this.orderColumn != null) {
-			stmt.addValue(this.orderColumn, String.valueOf(index));
+			stmt.addValue(this.orderColumn, new NumberColumnExpression(index));
 		}
 		return stmt;
 	}
 
-	private InsertStatement createEmbeddedPropertiesStatement(final String sourceId, final int index, final T value) {
+	private InsertStatement createEmbeddedPropertiesStatement(final ColumnExpression sourceId, final int index,
+			final T value) {
 		final InsertStatement stmt = new InsertStatement(this.table);
 
 		stmt.addValue(this.idColumn, sourceId);
 		if (this.orderColumn != null) {
-			stmt.addValue(this.orderColumn, String.valueOf(index));
+			stmt.addValue(this.orderColumn, new NumberColumnExpression(index));
 		}
 
 		for (final SingularProperty<T, ?> property : getEmbeddedProperties()) {
@@ -304,7 +309,8 @@ public class CollectionProperty<E, T> extends PluralProperty<E, Collection<T>, T
 	@Override
 	public List<EntityStatement> generatePendingStatements(final E entity, final Object writtenEntity,
 			final Object... arguments) {
-		final String sourceId = EntityConverter.getEntityReference(entity, getMappedId(), getContext(), false);
+		final ColumnExpression sourceId = EntityConverter.getEntityReference(entity, getMappedId(), getContext(),
+				false);
 		final EntityStatement statement = createDirectPropertyStatement(entity, sourceId,
 				((Integer) arguments[0]).intValue(), (T) writtenEntity);
 		return statement == null ? Collections.<EntityStatement> emptyList() : Collections.singletonList(statement);
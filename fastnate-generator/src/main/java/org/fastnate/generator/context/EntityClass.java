@@ -6,6 +6,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
@@ -37,12 +38,17 @@ import javax.validation.constraints.NotNull;
 
 import org.apache.commons.lang.StringUtils;
 import org.fastnate.generator.context.GenerationState.PendingState;
+import org.fastnate.generator.statements.ColumnExpression;
 import org.fastnate.generator.statements.EntityStatement;
+import org.fastnate.generator.statements.NumberColumnExpression;
+import org.fastnate.generator.statements.PlainColumnExpression;
+import org.fastnate.generator.statements.StringColumnExpression;
+import org.fastnate.generator.statements.SubselectColumnExpression;
+import org.fastnate.generator.statements.UniqueReferenceColumnExpression;
 
 import com.google.common.collect.ImmutableMap;
 
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
 /**
  * Describes the DB relevant metadata of an {@link Entity entity class}.
@@ -54,31 +60,6 @@ import lombok.RequiredArgsConstructor;
 @Getter
 public final class EntityClass<E> {
 
-	/**
-	 * Helper object to use as key in the state map, if we have a {@link GeneratedIdProperty}.
-	 *
-	 * As the hashcode of entities in some implementations changes if the id changes, we can't use the entity as key
-	 * itself.
-	 *
-	 * As result, the hash map is used as linked list.
-	 */
-	@RequiredArgsConstructor
-	private static final class EntityId {
-
-		private final Object entity;
-
-		@Override
-		public boolean equals(final Object obj) {
-			return obj instanceof EntityId && ((EntityId) obj).entity == this.entity;
-		}
-
-		@Override
-		public int hashCode() {
-			return 0;
-		}
-
-	}
-
 	/** Contains the default values for a sequence generator, if none is given. */
 	private static final SequenceGenerator DEFAULT_SEQUENCE_GENERATOR = AnnotationDefaults
 			.create(SequenceGenerator.class, ImmutableMap.of("allocationSize", 1));
@@ -198,7 +179,7 @@ public final class EntityClass<E> {
 	 *
 	 * {@code null} if no discriminator is used
 	 */
-	private String discriminator;
+	private ColumnExpression discriminator;
 
 	/**
 	 * The column for {@link #discriminator}.
@@ -239,8 +220,12 @@ public final class EntityClass<E> {
 	/** Mapping from a {@link SequenceGenerator#name()} to the generator itself. */
 	private final Map<String, SequenceGenerator> sequences = new HashMap<>();
 
-	/** The states of written entities. Only interesting for pending updates and if the ID is not generated. */
-	private final Map<Object, GenerationState> entityStates;
+	/**
+	 * The states of written entities. Only interesting for pending updates and if the ID is not generated.
+	 *
+	 * Identifies entities with a {@link GeneratedIdProperty} by their identity, all others by their ID.
+	 */
+	private Map<Object, GenerationState> entityStates;
 
 	/** All attribute overriddes of this class and the parent classes. */
 	private final Map<String, AttributeOverride> attributeOverrides = new HashMap<>();
@@ -261,7 +246,6 @@ public final class EntityClass<E> {
 		this.entityClass = entityClass;
 		final String name = entityClass.getAnnotation(Entity.class).name();
 		this.entityName = name.length() > 0 ? name : entityClass.getSimpleName();
-		this.entityStates = context.getStates(this);
 	}
 
 	/**
@@ -305,6 +289,9 @@ public final class EntityClass<E> {
 			buildProperties(this.entityClass, this.joinedParentClass.entityClass);
 		}
 
+		// Now we know how to identify our entities
+		this.entityStates = this.context.getStates(this);
+
 		// And inspect unique constraints
 		if (tableMetadata != null && this.uniqueProperties == null) {
 			buildUniqueProperties(tableMetadata.uniqueConstraints());
@@ -323,7 +310,7 @@ public final class EntityClass<E> {
 		}
 	}
 
-	private String buildDiscriminator(final EntityClass<?> c, final DiscriminatorColumn column) {
+	private ColumnExpression buildDiscriminator(final EntityClass<?> c, final DiscriminatorColumn column) {
 		final DiscriminatorType type;
 		final int maxLength;
 		if (column == null) {
@@ -337,16 +324,17 @@ public final class EntityClass<E> {
 
 		final DiscriminatorValue value = this.entityClass.getAnnotation(DiscriminatorValue.class);
 		if (type == DiscriminatorType.INTEGER) {
-			return value == null ? String.valueOf(c.getEntityName().hashCode()) : value.value();
+			return value == null ? new NumberColumnExpression(c.getEntityName().hashCode())
+					: new PlainColumnExpression(value.value());
 		}
 		final String v = value == null ? c.getEntityName() : value.value();
 		if (StringUtils.isEmpty(v)) {
 			throw new IllegalArgumentException("Missing discriminator value for: " + c.getEntityClass());
 		}
 		if (type == DiscriminatorType.STRING) {
-			return getContext().getDialect().quoteString(v.length() <= maxLength ? v : v.substring(0, maxLength));
+			return new StringColumnExpression(v.length() <= maxLength ? v : v.substring(0, maxLength));
 		} else if (type == DiscriminatorType.CHAR) {
-			return getContext().getDialect().quoteString(v.substring(0, 1));
+			return new StringColumnExpression(v.substring(0, 1));
 		}
 		throw new IllegalArgumentException("Unknown discriminator type: " + type);
 	}
@@ -549,15 +537,26 @@ public final class EntityClass<E> {
 	 */
 	public List<EntityStatement> createPostInsertStatements(final E entity) {
 		final GenerationState oldState;
+		final EntityStatement idStatement;
 		if (this.idProperty instanceof GeneratedIdProperty) {
 			final GeneratedIdProperty<E> generatedIdProperty = (GeneratedIdProperty<E>) this.idProperty;
-			generatedIdProperty.postInsert(entity);
-			oldState = this.entityStates.remove(new EntityId(entity));
+			idStatement = generatedIdProperty.postInsert(entity);
+			oldState = this.entityStates.remove(entity);
 		} else {
+			idStatement = null;
 			oldState = this.entityStates.put(getStateId(entity), GenerationState.PERSISTED);
 		}
 		if (oldState instanceof PendingState) {
-			return ((PendingState) oldState).generatePendingStatements(entity);
+			final List<EntityStatement> pendingStatements = ((PendingState) oldState)
+					.generatePendingStatements(entity);
+			if (idStatement != null) {
+				// The pending statements reference the variable with the ID
+				pendingStatements.add(0, idStatement);
+			}
+			return pendingStatements;
+		}
+		if (idStatement != null) {
+			return Collections.singletonList(idStatement);
 		}
 		return Collections.emptyList();
 	}
@@ -632,7 +631,8 @@ public final class EntityClass<E> {
 	 *            indicates that the reference is used in a "where" statement
 	 * @return the expression - either by using the {@code unique properties} or the {@code id} of the entity
 	 */
-	public String getEntityReference(final E entity, final String idField, final boolean whereExpression) {
+	public ColumnExpression getEntityReference(final E entity, final String idField,
+			final boolean whereExpression) {
 		if (this.joinedParentClass != null) {
 			return this.joinedParentClass.getEntityReference(entity, idField, whereExpression);
 		}
@@ -654,14 +654,21 @@ public final class EntityClass<E> {
 			}
 		}
 		@SuppressWarnings("null")
-		final String expression = property.getExpression(entity, whereExpression);
+		final ColumnExpression expression = property.getExpression(entity, whereExpression);
 		ModelException.test(expression != null, "Can't find any id in " + this.idProperty + " for " + entity);
 		return expression;
 	}
 
-	private String getGeneratedIdReference(final E entity, final boolean whereExpression) {
+	private ColumnExpression getGeneratedIdReference(final E entity, final boolean whereExpression) {
 		final GeneratedIdProperty<E> generatedIdProperty = (GeneratedIdProperty<E>) this.idProperty;
 		if (!generatedIdProperty.isReference(entity) && this.uniqueProperties != null) {
+			// Check to reference the variable, if the ID was stored in one after the insert
+			final Number id = generatedIdProperty.getValue(entity);
+			if (id != null && generatedIdProperty.getGenerator() == null
+					&& this.context.findIdentityVariable(generatedIdProperty, id.longValue()) != null) {
+				return generatedIdProperty.getExpression(entity, whereExpression);
+			}
+
 			// Check to write "currval" of sequence if we just have written the same value
 			if (this.context.isPreferSequenceCurentValue() && generatedIdProperty.getGenerator() != null && this.context
 					.getCurrentValue(generatedIdProperty.getGenerator()).equals(generatedIdProperty.getValue(entity))) {
@@ -670,8 +677,11 @@ public final class EntityClass<E> {
 
 			// Check to write the reference with the unique properties
 			final StringBuilder condition = new StringBuilder();
+			Map<String, ColumnExpression> keys = new LinkedHashMap<>();
 			for (final SingularProperty<E, ?> property : this.uniqueProperties) {
-				final String expression = property.getPredicate(entity);
+				final ColumnExpression key = getUniqueKey(property, entity);
+				final String expression = key == null ? property.getPredicate(entity)
+						: property.getColumn() + " = " + key.toSql(this.context.getDialect());
 				if (expression == null) {
 					// At least one required property is null -> use the id
 					return generatedIdProperty.getExpression(entity, whereExpression);
@@ -680,15 +690,53 @@ public final class EntityClass<E> {
 					condition.append(" AND ");
 				}
 				condition.append(expression);
+				if (key == null) {
+					// The condition can't be expressed by the values of the columns
+					keys = null;
+				} else if (keys != null) {
+					keys.put(property.getColumn(), key);
+				}
 			}
 			if (this.discriminator != null) {
-				condition.append(" AND ").append(this.discriminatorColumn).append(" = ").append(this.discriminator);
+				condition.append(" AND ").append(this.discriminatorColumn).append(" = ")
+						.append(this.discriminator.toSql(this.context.getDialect()));
+				if (keys != null) {
+					keys.put(this.discriminatorColumn, this.discriminator);
+				}
+			}
+			if (keys == null) {
+				return new SubselectColumnExpression(this.table, generatedIdProperty.getColumn(),
+						condition.toString());
 			}
-			return "(SELECT " + generatedIdProperty.getColumn() + " FROM " + this.table + " WHERE " + condition + ')';
+			return new UniqueReferenceColumnExpression(this.table, generatedIdProperty.getColumn(),
+					condition.toString(), keys);
 		}
 		return generatedIdProperty.getExpression(entity, whereExpression);
 	}
 
+	/**
+	 * Finds the value of a unique property, if the property is identified by comparing its column with that value.
+	 *
+	 * @param property
+	 *            one of the {@link #uniqueProperties}
+	 * @param entity
+	 *            the entity
+	 * @return the expression for the value of the column or {@code null} if the value is {@code null} or can't be
+	 *         compared by one column
+	 */
+	private ColumnExpression getUniqueKey(final SingularProperty<E, ?> property, final E entity) {
+		if (property.getValue(entity) == null) {
+			return null;
+		}
+		if (property instanceof PrimitiveProperty) {
+			return property.getExpression(entity, true);
+		}
+		if (property instanceof EntityProperty && ((EntityProperty<E, ?>) property).getAnyColumn() == null) {
+			return property.getExpression(entity, true);
+		}
+		return null;
+	}
+
 	/**
 	 * Resolves the column for the {@code id property} of this entity class.
 	 *
@@ -726,7 +774,9 @@ public final class EntityClass<E> {
 	 */
 	private Object getStateId(final E entity) {
 		if (this.idProperty instanceof GeneratedIdProperty) {
-			return new EntityId(entity);
+			// As the hashcode of entities in some implementations changes if the id changes, we use the entity itself
+			// in an identity map - which is a weak map, if pending entities are released
+			return entity;
 		}
 		final Object id = this.idProperty.getValue(entity);
 		if (id == null) {
@@ -789,7 +839,7 @@ public final class EntityClass<E> {
 	public void markExistingEntity(final E entity) {
 		if (this.idProperty instanceof GeneratedIdProperty) {
 			((GeneratedIdProperty<E>) this.idProperty).markReference(entity);
-			this.entityStates.remove(new EntityId(entity));
+			this.entityStates.remove(entity);
 		} else {
 			this.entityStates.put(getStateId(entity), GenerationState.PERSISTED);
 		}
@@ -809,15 +859,8 @@ public final class EntityClass<E> {
 	 */
 	public <V> void markPendingUpdates(final E pendingEntity, final V entityToUpdate,
 			final Property<V, ?> propertyToUpdate, final Object... arguments) {
-		final Object id = getStateId(pendingEntity);
-		final GenerationState state = this.entityStates.get(id);
-		final PendingState pendingState;
-		if (state instanceof PendingState) {
-			pendingState = (PendingState) state;
-		} else {
-			pendingState = new PendingState();
-			this.entityStates.put(id, pendingState);
-		}
+		final PendingState pendingState = (PendingState) this.entityStates.compute(getStateId(pendingEntity),
+				(id, state) -> state instanceof PendingState ? state : new PendingState());
 		pendingState.addPendingUpdate(entityToUpdate, propertyToUpdate, arguments);
 	}
 
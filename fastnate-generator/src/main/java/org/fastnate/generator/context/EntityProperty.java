@@ -16,8 +16,12 @@ import javax.persistence.OneToOne;
 import javax.validation.constraints.NotNull;
 
 import org.fastnate.generator.converter.EntityConverter;
+import org.fastnate.generator.dialect.GeneratorDialect;
+import org.fastnate.generator.statements.ColumnExpression;
 import org.fastnate.generator.statements.EntityStatement;
 import org.fastnate.generator.statements.InsertStatement;
+import org.fastnate.generator.statements.PlainColumnExpression;
+import org.fastnate.generator.statements.StringColumnExpression;
 import org.fastnate.generator.statements.UpdateStatement;
 import org.hibernate.annotations.Any;
 import org.hibernate.annotations.AnyMetaDef;
@@ -113,7 +117,7 @@ public class EntityProperty<E, T> extends SingularProperty<E, T> {
 	private final String anyColumn;
 
 	/** Contains the mapping from a class to its id in the database. */
-	private final Map<Class<?>, String> anyClasses = new HashMap<>();
+	private final Map<Class<?>, ColumnExpression> anyClasses = new HashMap<>();
 
 	/**
 	 * Creates a new instance of {@link EntityProperty}.
@@ -170,7 +174,7 @@ public class EntityProperty<E, T> extends SingularProperty<E, T> {
 			final T value = getValue(entity);
 			if (value != null) {
 				final EntityClass<T> entityClass = this.context.getDescription(value);
-				final String expression = entityClass.getEntityReference(value, this.idField, false);
+				final ColumnExpression expression = entityClass.getEntityReference(value, this.idField, false);
 				if (expression != null) {
 					// We have an ID - use the expression
 					statement.addValue(this.column, expression);
@@ -185,9 +189,9 @@ public class EntityProperty<E, T> extends SingularProperty<E, T> {
 			}
 			failIfRequired();
 			if (this.context.isWriteNullValues()) {
-				statement.addValue(this.column, "null");
+				statement.addValue(this.column, PlainColumnExpression.NULL);
 				if (this.anyColumn != null) {
-					statement.addValue(this.anyColumn, "null");
+					statement.addValue(this.anyColumn, PlainColumnExpression.NULL);
 				}
 			}
 		}
@@ -199,12 +203,12 @@ public class EntityProperty<E, T> extends SingularProperty<E, T> {
 			throw new IllegalArgumentException("Missing AnyMetaDef for " + attribute);
 		}
 		for (final MetaValue metaValue : metaDef.metaValues()) {
-			this.anyClasses.put(metaValue.targetEntity(), "'" + metaValue.value() + "'");
+			this.anyClasses.put(metaValue.targetEntity(), new StringColumnExpression(metaValue.value()));
 		}
 	}
 
-	private String findAnyDesc(final T entity) {
-		final String desc = this.anyClasses.get(entity.getClass());
+	private ColumnExpression findAnyDesc(final T entity) {
+		final ColumnExpression desc = this.anyClasses.get(entity.getClass());
 		if (desc == null) {
 			throw new IllegalArgumentException(
 					"Can'f find meta description for " + entity.getClass() + " on " + getAttribute());
@@ -221,8 +225,8 @@ public class EntityProperty<E, T> extends SingularProperty<E, T> {
 	@Override
 	public List<EntityStatement> generatePendingStatements(final E entity, final Object writtenEntity,
 			final Object... arguments) {
-		final String expression = this.context.getDescription(writtenEntity).getEntityReference(writtenEntity,
-				this.idField, false);
+		final ColumnExpression expression = this.context.getDescription(writtenEntity)
+				.getEntityReference(writtenEntity, this.idField, false);
 		if (expression == null) {
 			throw new ModelException("Entity can't be referenced: " + writtenEntity);
 		}
@@ -234,10 +238,10 @@ public class EntityProperty<E, T> extends SingularProperty<E, T> {
 	}
 
 	@Override
-	public String getExpression(final E entity, final boolean whereExpression) {
+	public ColumnExpression getExpression(final E entity, final boolean whereExpression) {
 		final T value = getValue(entity);
 		if (value == null) {
-			return "null";
+			return PlainColumnExpression.NULL;
 		}
 		return EntityConverter.getEntityReference(value, this.idField, this.context, whereExpression);
 	}
@@ -248,14 +252,17 @@ public class EntityProperty<E, T> extends SingularProperty<E, T> {
 		if (value == null) {
 			return this.column + " IS NULL";
 		}
-		final String reference = EntityConverter.getEntityReference(value, this.idField, this.context, true);
+		final ColumnExpression reference = EntityConverter.getEntityReference(value, this.idField, this.context,
+				true);
 		if (reference == null) {
 			return null;
 		}
+		final GeneratorDialect dialect = this.context.getDialect();
 		if (this.anyColumn != null) {
-			return '(' + this.column + " = " + reference + " AND " + this.anyColumn + " = " + findAnyDesc(value) + ')';
+			return '(' + this.column + " = " + reference.toSql(dialect) + " AND " + this.anyColumn + " = "
+					+ findAnyDesc(value).toSql(dialect) + ')';
 		}
-		return this.column + " = " + reference;
+		return this.column + " = " + reference.toSql(dialect);
 	}
 
 	@Override
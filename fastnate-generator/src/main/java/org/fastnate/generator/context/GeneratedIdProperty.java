@@ -9,7 +9,14 @@ import javax.persistence.SequenceGenerator;
 import lombok.Getter;
 
 import org.apache.commons.lang.StringUtils;
+import org.fastnate.generator.statements.ColumnExpression;
+import org.fastnate.generator.statements.EntityStatement;
+import org.fastnate.generator.statements.IdentityColumnExpression;
+import org.fastnate.generator.statements.IdentityVariableStatement;
 import org.fastnate.generator.statements.InsertStatement;
+import org.fastnate.generator.statements.NumberColumnExpression;
+import org.fastnate.generator.statements.PlainColumnExpression;
+import org.fastnate.generator.statements.SequenceColumnExpression;
 
 /**
  * Describes an {@link Id} property of an {@link EntityClass}.
@@ -65,11 +72,18 @@ public class GeneratedIdProperty<E> extends PrimitiveProperty<E, Number> {
 			// If we have generated explict IDs, lets do that now
 			final Long id = context.createNextValue(this);
 			setValue(entity, id);
-			statement.addValue(getColumn(), String.valueOf(id));
+			statement.addValue(getColumn(), new NumberColumnExpression(id));
 		} else if (this.sequenceName != null) {
 			// If we have a sequence, we can increment that one now (else we will do it in postInsert)
-			setValue(entity, context.createNextValue(this));
-			statement.addValue(getColumn(), context.getDialect().buildNextSequenceValue(this.sequenceName));
+			final Long id = context.createNextValue(this);
+			setValue(entity, id);
+			final long diff = context.getCurrentValue(this) - id;
+			if (diff == 0) {
+				statement.addValue(getColumn(), new SequenceColumnExpression(this.sequenceName, true, 0));
+			} else {
+				// The ID is part of the block of the current value of the sequence
+				statement.addValue(getColumn(), new SequenceColumnExpression(this.sequenceName, false, diff));
+			}
 		}
 	}
 
@@ -85,7 +99,7 @@ public class GeneratedIdProperty<E> extends PrimitiveProperty<E, Number> {
 	 *             if the entity is a {@link #isReference(Object) reference} without any id
 	 */
 	@Override
-	public String getExpression(final E entity, final boolean whereExpression) {
+	public ColumnExpression getExpression(final E entity, final boolean whereExpression) {
 		final Number targetId = getValue(entity);
 		if (targetId == null) {
 			return null;
@@ -94,25 +108,29 @@ public class GeneratedIdProperty<E> extends PrimitiveProperty<E, Number> {
 			throw new IllegalArgumentException("Entity must be referenced by an unique property: " + entity);
 		}
 		if (targetId.longValue() < 0) {
-			return String.valueOf(UNKOWN_ID_MARKER - 1 - targetId.longValue());
+			return new NumberColumnExpression(UNKOWN_ID_MARKER - 1 - targetId.longValue());
 		}
 
 		final GeneratorContext context = getContext();
 		if (context.isExplicitIds()) {
-			return targetId.toString();
+			return new NumberColumnExpression(targetId);
 		}
 
-		final long diff = context.getCurrentValue(this) - targetId.longValue();
-
 		if (this.sequenceName != null && (!whereExpression || context.getDialect().isSequenceInWhereSupported())) {
-			final String reference = context.getDialect().buildCurrentSequenceValue(this.sequenceName);
-			if (diff == 0) {
-				return reference;
+			return new SequenceColumnExpression(this.sequenceName, false,
+					context.getCurrentValue(this) - targetId.longValue());
+		}
+
+		if (this.generator == null) {
+			final String variable = context.findIdentityVariable(this, targetId.longValue());
+			if (variable != null) {
+				return new PlainColumnExpression(variable);
 			}
-			return "(" + reference + " - " + diff + ")";
 		}
 
-		return "(SELECT max(" + getColumn() + ")" + (diff == 0 ? "" : " - " + diff) + " FROM " + getTable() + ")";
+		final long currentId = this.generator == null ? context.getCurrentValue(this)
+				: context.getCurrentId(this.generator);
+		return new IdentityColumnExpression(getTable(), getColumn(), currentId - targetId.longValue());
 	}
 
 	/**
@@ -175,13 +193,21 @@ public class GeneratedIdProperty<E> extends PrimitiveProperty<E, Number> {
 	 *
 	 * @param entity
 	 *            the current entity
+	 * @return the statement that stores the generated ID in a variable of the session or {@code null} if no such
+	 *         statement is necessary
 	 */
-	public void postInsert(final E entity) {
+	public EntityStatement postInsert(final E entity) {
 		final GeneratorContext context = getContext();
 		if (!context.isExplicitIds() && this.generator == null) {
 			// We have no sequence -> the database increments the ID after the insert
-			setValue(entity, context.createNextValue(this));
+			final Long id = context.createNextValue(this);
+			setValue(entity, id);
+			final int variable = context.createIdentityVariable(this, id);
+			if (variable >= 0) {
+				return new IdentityVariableStatement(getTable(), getColumn(), variable);
+			}
 		}
+		return null;
 	}
 
 }
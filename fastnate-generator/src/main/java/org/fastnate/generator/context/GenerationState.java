@@ -46,7 +46,8 @@ public class GenerationState {
 		 * @param arguments
 		 *            additional arguments to remember
 		 */
-		public <E> void addPendingUpdate(final E entity, final Property<E, ?> property, final Object... arguments) {
+		public synchronized <E> void addPendingUpdate(final E entity, final Property<E, ?> property,
+				final Object... arguments) {
 			this.updates.add(new Update<>(entity, property, arguments));
 		}
 
@@ -57,7 +58,7 @@ public class GenerationState {
 		 *            the entity that exists now in the database
 		 * @return the list of pending statements
 		 */
-		public <E> List<EntityStatement> generatePendingStatements(final Object entity) {
+		public synchronized <E> List<EntityStatement> generatePendingStatements(final Object entity) {
 			final List<EntityStatement> result = new ArrayList<>();
 			for (final Update<?> update : this.updates) {
 				final Update<E> singleUpdate = (Update<E>) update;
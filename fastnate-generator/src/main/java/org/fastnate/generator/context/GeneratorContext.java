@@ -3,9 +3,15 @@ package org.fastnate.generator.context;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
@@ -25,6 +31,10 @@ import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
+import com.google.common.base.Preconditions;
+import com.google.common.collect.MapMaker;
+
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -60,6 +70,9 @@ public class GeneratorContext {
 	/** The settings key for {@link #explicitIds}. */
 	public static final String EXPLICIT_IDS_KEY = "fastnate.generator.explicit.ids";
 
+	/** The settings key for {@link #explicitIdsStart}. */
+	public static final String EXPLICIT_IDS_START_KEY = "fastnate.generator.explicit.ids.start";
+
 	/** The settings key for the {@link #uniquePropertyQuality}. */
 	public static final String UNIQUE_PROPERTIES_QUALITY_KEY = "fastnate.generator.unique.properties.quality";
 
@@ -69,6 +82,29 @@ public class GeneratorContext {
 	/** The settings key for {@link #preferSequenceCurentValue}. */
 	public static final String PREFER_SEQUENCE_CURRENT_VALUE = "fastnate.generator.prefer.sequence.current.value";
 
+	/** The settings key for the {@link #maxInsertRows}. */
+	public static final String MAX_INSERT_ROWS_KEY = "fastnate.generator.insert.rows.max";
+
+	/** The settings key for the {@link #maxInsertSize}. */
+	public static final String MAX_INSERT_SIZE_KEY = "fastnate.generator.insert.size.max";
+
+	/** The settings key for {@link #groupByTable}. */
+	public static final String GROUP_BY_TABLE_KEY = "fastnate.generator.group.by.table";
+
+	/** The settings key for the {@link #commitInterval}. */
+	public static final String COMMIT_INTERVAL_KEY = "fastnate.generator.commit.interval";
+
+	/** The settings key for {@link #disableConstraints}. */
+	public static final String DISABLE_CONSTRAINTS_KEY = "fastnate.generator.disable.constraints";
+
+	/** The settings key for the {@link #identityVariables}. */
+	public static final String IDENTITY_VARIABLES_KEY = "fastnate.generator.identity.variables";
+
+	/** The settings key for {@link #releaseEntities}. */
+	public static final String RELEASE_ENTITIES_KEY = "fastnate.generator.release.entities";
+
+	private static final int DEFAULT_MAX_INSERT_SIZE = 1024 * 1024;
+
 	/**
 	 * Tries to read any persistence file defined in the settings.
 	 *
@@ -115,8 +151,21 @@ public class GeneratorContext {
 		}
 	}
 
-	/** Contains the extracted metadata per entity class. */
-	private final Map<Class<?>, EntityClass<?>> descriptions = new HashMap<>();
+	/**
+	 * Contains the extracted metadata per entity class.
+	 *
+	 * Only contains completely built descriptions, as the context may be shared by generators in different threads.
+	 */
+	private final Map<Class<?>, EntityClass<?>> descriptions = new ConcurrentHashMap<>();
+
+	/**
+	 * Contains the descriptions that are built right now, until the outermost description is completely built.
+	 *
+	 * Used as lock for building descriptions as well, so only the building thread will see these descriptions.
+	 */
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private final Map<Class<?>, EntityClass<?>> pendingDescriptions = new HashMap<>();
 
 	/**
 	 * Identifies the SQL dialect for generating SQL statements. Encapsulates the database specifica.
@@ -146,27 +195,143 @@ public class GeneratorContext {
 
 	/**
 	 * In bulk mode, IDs are not generated by the DB, but by the generator. In that case, IDs are explicitly generated
-	 * starting from 0.
+	 * starting from {@link #explicitIdsStart}.
 	 */
 	private boolean explicitIds;
 
+	/**
+	 * The first of the {@link #explicitIds explicit IDs}, to append rows to tables that contain rows already.
+	 *
+	 * Identity columns start with this value, sequences with the maximum of this value and their initial value. At the
+	 * end of the generated SQL, all sequences and identity columns are restarted after the last written ID.
+	 */
+	private long explicitIdsStart;
+
 	/**
 	 * Indicates to include null values explictly in statements.
 	 */
 	private boolean writeNullValues;
 
+	/**
+	 * The maximum count of rows that are combined into one multi-row insert statement.
+	 *
+	 * Consecutive inserts into the same table with the same columns are combined, as long as the
+	 * {@link GeneratorDialect dialect} supports that for the current values. The default of {@code 1} writes one
+	 * statement per row.
+	 */
+	private int maxInsertRows = 1;
+
+	/**
+	 * The maximum count of characters of the values in one multi-row insert statement.
+	 *
+	 * Prevents statements that are larger than the maximum packet size of the database.
+	 */
+	private int maxInsertSize = DEFAULT_MAX_INSERT_SIZE;
+
+	/**
+	 * Indicates to keep back all statements until the generator is flushed and to write them grouped by table then.
+	 *
+	 * The tables are written in the order of their {@link TableDependencyGraph dependencies}, tables that reference
+	 * each other are written together in the order of generation. As the order of the rows changes, references
+	 * relative to the current value of a sequence or an identity column are not possible - which needs
+	 * {@link #explicitIds} for most models.
+	 */
+	private boolean groupByTable;
+
+	/**
+	 * The count of statements that are written in one transaction.
+	 *
+	 * If set, the {@link GeneratorDialect dialect} starts a transaction before the first statement and commits the
+	 * transaction after that count of statements and at the end of the script. Every row of a multi-row insert counts
+	 * as one statement. The default of {@code 0} writes no transaction boundaries.
+	 */
+	private int commitInterval;
+
+	/**
+	 * Indicates to disable the checks of constraints while the generated data is loaded.
+	 *
+	 * If set, the {@link GeneratorDialect dialect} disables the checks of foreign keys (and unique indices, if
+	 * possible) before the first statement for the session or for each written table and enables them again at the end
+	 * of the script. Mostly useful when loading large amounts of data into an existing schema. As the checks are
+	 * disabled for the session, every shard of a {@link org.fastnate.generator.ShardedEntitySqlGenerator sharded
+	 * script} disables the checks at its start and enables them again at its end, so each shard may be loaded in its
+	 * own session.
+	 */
+	private boolean disableConstraints;
+
+	/**
+	 * The count of variables of the session, that store the values of identity columns generated by the database.
+	 *
+	 * If set and supported by the {@link GeneratorDialect#isIdentityVariableSupported() dialect}, the value of an
+	 * identity column is stored in a variable after the insert and references to the entity use that variable -
+	 * instead of selecting the maximum value of the column. The variables are recycled in the order of their creation.
+	 * Only used without {@link #explicitIds} and {@link #groupByTable}, as the generated script has to be executed in
+	 * one session. For the same reason the variables are only used as long as a single generator writes entities with
+	 * this context.
+	 */
+	private int identityVariables;
+
+	/**
+	 * Indicates to release the entities with {@link GeneratedIdProperty generated IDs} that are referenced, but not
+	 * written yet, as soon as they are not referenced anymore by the caller.
+	 *
+	 * The states of these entities are attached to their identity, until they are written. If set, that is a weak
+	 * reference, so the pending updates of entities that are never written don't keep them in memory during a long
+	 * running generation. The states of written entities are not affected, as they are either removed (for generated
+	 * IDs) or remembered by the ID of the entity.
+	 */
+	private boolean releaseEntities;
+
 	/** Contains the current values for all {@link SequenceGenerator sequences}. */
-	private final Map<String, Long> sequences = new HashMap<>();
+	private final Map<String, Long> sequences = new ConcurrentHashMap<>();
+
+	/**
+	 * Contains the last IDs created from the current values of all {@link SequenceGenerator sequences}.
+	 *
+	 * Every sequence is updated atomically by computing its entry in this map, so generators in different threads share
+	 * one ID space.
+	 */
+	private final Map<String, Long> sequenceIds = new ConcurrentHashMap<>();
 
 	/** Contains the current values for {@link GeneratedValue ids} with {@link GenerationType#IDENTITY}. */
-	private final Map<String, Long> ids = new HashMap<>();
+	private final Map<String, Long> ids = new ConcurrentHashMap<>();
+
+	/** The index of the variable for the values of identity columns, mapped by the column and the value. */
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private final Map<String, Map<Long, Integer>> identityVariableIndices = new HashMap<>();
+
+	/** The column and the value that is stored in each of the {@link #identityVariables}. */
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private final List<Map.Entry<String, Long>> identityVariableValues = new ArrayList<>();
+
+	/** The index of the next variable of the {@link #identityVariables}. */
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private int nextIdentityVariable;
+
+	/** The count of the generators that write entities with this context and are not closed yet. */
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private int attachedGenerators;
 
 	/** Contains the state of single entities, maps from an entity name to the mapping of an id to its state. */
-	private final Map<String, Map<Object, GenerationState>> states = new HashMap<>();
+	private final Map<String, Map<Object, GenerationState>> states = new ConcurrentHashMap<>();
 
 	/** Contains the settings that where given during creation. Empty if none were given. */
 	private final Properties settings;
 
+	/** The dependencies between the tables of the known entity classes, built on demand. */
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private TableDependencyGraph tableDependencies;
+
+	/** The count of descriptions that were known, when the {@link #tableDependencies} were built. */
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private int tableDependenciesSize;
+
 	/**
 	 * Creates a default generator context.
 	 */
@@ -186,6 +351,34 @@ public class GeneratorContext {
 		this.settings = new Properties();
 	}
 
+	/**
+	 * Creates a generator context with the same settings as the given context, but without any state.
+	 *
+	 * The new context has its own descriptions, IDs and entity states - for example to generate the entities of an
+	 * independent part of the model in another thread with a separate ID space.
+	 *
+	 * @param template
+	 *            the context that contains the settings to copy
+	 */
+	public GeneratorContext(final GeneratorContext template) {
+		this.settings = template.settings;
+		this.dialect = template.dialect;
+		this.provider = template.provider;
+		this.maxUniqueProperties = template.maxUniqueProperties;
+		this.uniquePropertyQuality = template.uniquePropertyQuality;
+		this.preferSequenceCurentValue = template.preferSequenceCurentValue;
+		this.explicitIds = template.explicitIds;
+		this.explicitIdsStart = template.explicitIdsStart;
+		this.writeNullValues = template.writeNullValues;
+		this.maxInsertRows = template.maxInsertRows;
+		this.maxInsertSize = template.maxInsertSize;
+		this.groupByTable = template.groupByTable;
+		this.commitInterval = template.commitInterval;
+		this.disableConstraints = template.disableConstraints;
+		this.identityVariables = template.identityVariables;
+		this.releaseEntities = template.releaseEntities;
+	}
+
 	/**
 	 * Creates a new instance of {@link GeneratorContext}.
 	 *
@@ -225,6 +418,8 @@ public class GeneratorContext {
 
 		this.explicitIds = Boolean
 				.parseBoolean(settings.getProperty(EXPLICIT_IDS_KEY, String.valueOf(this.explicitIds)));
+		this.explicitIdsStart = Long
+				.parseLong(settings.getProperty(EXPLICIT_IDS_START_KEY, String.valueOf(this.explicitIdsStart)));
 		this.writeNullValues = Boolean
 				.parseBoolean(settings.getProperty(NULL_VALUES_KEY, String.valueOf(this.writeNullValues)));
 		this.uniquePropertyQuality = UniquePropertyQuality
@@ -233,6 +428,72 @@ public class GeneratorContext {
 				.parseInt(settings.getProperty(UNIQUE_PROPERTIES_MAX_KEY, String.valueOf(this.maxUniqueProperties)));
 		this.preferSequenceCurentValue = Boolean.parseBoolean(
 				settings.getProperty(PREFER_SEQUENCE_CURRENT_VALUE, String.valueOf(this.preferSequenceCurentValue)));
+		this.maxInsertRows = Integer
+				.parseInt(settings.getProperty(MAX_INSERT_ROWS_KEY, String.valueOf(this.maxInsertRows)));
+		this.maxInsertSize = Integer
+				.parseInt(settings.getProperty(MAX_INSERT_SIZE_KEY, String.valueOf(this.maxInsertSize)));
+		this.groupByTable = Boolean
+				.parseBoolean(settings.getProperty(GROUP_BY_TABLE_KEY, String.valueOf(this.groupByTable)));
+		this.commitInterval = Integer
+				.parseInt(settings.getProperty(COMMIT_INTERVAL_KEY, String.valueOf(this.commitInterval)));
+		this.disableConstraints = Boolean
+				.parseBoolean(settings.getProperty(DISABLE_CONSTRAINTS_KEY, String.valueOf(this.disableConstraints)));
+		this.identityVariables = Integer
+				.parseInt(settings.getProperty(IDENTITY_VARIABLES_KEY, String.valueOf(this.identityVariables)));
+		this.releaseEntities = Boolean
+				.parseBoolean(settings.getProperty(RELEASE_ENTITIES_KEY, String.valueOf(this.releaseEntities)));
+	}
+
+	/**
+	 * Registers a generator that starts to write entities with this context.
+	 *
+	 * The {@link #identityVariables} belong to the session of a generator. So they are only used as long as exactly one
+	 * generator is attached, and they are forgotten whenever another generator is attached or detached.
+	 */
+	public synchronized void attachGenerator() {
+		this.attachedGenerators++;
+		clearIdentityVariables();
+	}
+
+	private void clearIdentityVariables() {
+		this.identityVariableIndices.clear();
+		this.identityVariableValues.clear();
+		this.nextIdentityVariable = 0;
+	}
+
+	/**
+	 * Stores the value of an identity column in the next of the {@link #identityVariables}.
+	 *
+	 * If all variables are in use, the variable with the oldest value is recycled.
+	 *
+	 * @param property
+	 *            the property of the identity column
+	 * @param value
+	 *            the value that was generated by the database
+	 * @return the index of the variable or {@code -1} if no variables are used
+	 */
+	public synchronized int createIdentityVariable(final GeneratedIdProperty<?> property, final long value) {
+		if (this.identityVariables <= 0 || this.explicitIds || this.groupByTable || this.attachedGenerators != 1
+				|| !this.dialect.isIdentityVariableSupported()) {
+			return -1;
+		}
+		final int index = this.nextIdentityVariable;
+		this.nextIdentityVariable = (index + 1) % this.identityVariables;
+		final String columnId = property.getTable() + "." + property.getColumn();
+		final Map.Entry<String, Long> entry = new AbstractMap.SimpleImmutableEntry<>(columnId, value);
+		if (index < this.identityVariableValues.size()) {
+			final Map.Entry<String, Long> oldEntry = this.identityVariableValues.set(index, entry);
+			this.identityVariableIndices.get(oldEntry.getKey()).remove(oldEntry.getValue());
+		} else {
+			this.identityVariableValues.add(entry);
+		}
+		Map<Long, Integer> indices = this.identityVariableIndices.get(columnId);
+		if (indices == null) {
+			indices = new HashMap<>();
+			this.identityVariableIndices.put(columnId, indices);
+		}
+		indices.put(value, index);
+		return index;
 	}
 
 	/**
@@ -247,37 +508,82 @@ public class GeneratorContext {
 			return createNextValue(property.getGenerator());
 		}
 		final String columnId = property.getTable() + "." + property.getColumn();
-		final Long currentValue = this.ids.get(columnId);
-		final Long newValue;
-		if (currentValue == null) {
-			newValue = 0L;
-		} else {
-			newValue = currentValue + 1;
-		}
-		this.ids.put(columnId, newValue);
-		return newValue;
+		return this.ids.merge(columnId, this.explicitIds ? this.explicitIdsStart : 0L,
+				(currentValue, firstValue) -> currentValue + 1);
 	}
 
 	/**
-	 * Creates the next value for a sequence (and remembers that value).
+	 * Creates the next ID for a sequence (and remembers that ID).
+	 *
+	 * The next value of the sequence is only created, if the block of the current value of the sequence contains no
+	 * more IDs (according to the {@link #getSequenceOptimizer(SequenceGenerator) optimizer} of the sequence).
 	 *
 	 * @param generator
 	 *            the generator of the current column
-	 * @return the created value
+	 * @return the created ID
 	 */
 	public Long createNextValue(final SequenceGenerator generator) {
 		final String sequenceName = generator.sequenceName();
-		final Long currentValue = this.sequences.get(sequenceName);
-		final Long newValue;
-		if (currentValue == null) {
-			newValue = (long) generator.initialValue();
-		} else {
-			// Allocation size is _not_ necessarily the increment size
-			// As soon as we read hibernate specific properties, we can read the increment size as well
-			newValue = currentValue + generator.allocationSize();
+		final SequenceOptimizer optimizer = getSequenceOptimizer(generator);
+		final int allocationSize = generator.allocationSize();
+		// Computing the entry locks the sequence, until the current value and the ID are updated
+		return this.sequenceIds.compute(sequenceName, (name, currentId) -> {
+			final Long currentValue = this.sequences.get(name);
+			if (currentValue != null && currentId < optimizer.getLastId(currentValue, allocationSize)) {
+				// Use the next ID from the block of the current value
+				return currentId + 1;
+			}
+			final long newValue;
+			if (currentValue == null) {
+				newValue = this.explicitIds
+						? optimizer.getValue(Math.max(generator.initialValue(), this.explicitIdsStart), allocationSize)
+						: generator.initialValue();
+			} else {
+				newValue = currentValue + optimizer.getIncrementSize(allocationSize);
+			}
+			this.sequences.put(name, newValue);
+			return optimizer.getFirstId(newValue, allocationSize);
+		});
+	}
+
+	/**
+	 * Unregisters a generator that was {@link #attachGenerator() attached} before, when it is closed.
+	 */
+	public synchronized void detachGenerator() {
+		Preconditions.checkState(this.attachedGenerators > 0, "No generator attached");
+		this.attachedGenerators--;
+		clearIdentityVariables();
+	}
+
+	/**
+	 * Finds the variable that contains a value of an identity column.
+	 *
+	 * @param property
+	 *            the property of the identity column
+	 * @param value
+	 *            the value of the identity column
+	 * @return the expression that references the variable or {@code null} if the value is not stored in one of the
+	 *         {@link #identityVariables}
+	 */
+	public synchronized String findIdentityVariable(final GeneratedIdProperty<?> property, final long value) {
+		final Map<Long, Integer> indices = this.identityVariableIndices
+				.get(property.getTable() + "." + property.getColumn());
+		if (indices == null) {
+			return null;
 		}
-		this.sequences.put(sequenceName, newValue);
-		return newValue;
+		final Integer index = indices.get(value);
+		return index == null ? null : this.dialect.buildIdentityVariable(index);
+	}
+
+	/**
+	 * Resolves the last ID created for a sequence.
+	 *
+	 * @param generator
+	 *            the generator of the current column
+	 * @return the last created ID or {@code null} if the sequence was not used up to now
+	 */
+	public Long getCurrentId(final SequenceGenerator generator) {
+		return this.sequenceIds.get(generator.sequenceName());
 	}
 
 	/**
@@ -319,8 +625,36 @@ public class GeneratorContext {
 	 */
 	@SuppressWarnings("unchecked")
 	public <E> EntityClass<E> getDescription(final Class<E> entityClass) {
-		// Lookup description
+		// Lookup completely built description
+		final EntityClass<E> description = (EntityClass<E>) this.descriptions.get(entityClass);
+		if (description != null) {
+			return description;
+		}
+
+		synchronized (this.pendingDescriptions) {
+			// Publish the descriptions, as soon as the outermost description is completely built
+			final boolean outermost = this.pendingDescriptions.isEmpty();
+			try {
+				final EntityClass<E> builtDescription = buildDescription(entityClass);
+				if (outermost) {
+					this.descriptions.putAll(this.pendingDescriptions);
+				}
+				return builtDescription;
+			} finally {
+				if (outermost) {
+					this.pendingDescriptions.clear();
+				}
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private <E> EntityClass<E> buildDescription(final Class<E> entityClass) {
+		// Lookup description - another thread could have built it or we are building it right now
 		EntityClass<E> description = (EntityClass<E>) this.descriptions.get(entityClass);
+		if (description == null) {
+			description = (EntityClass<E>) this.pendingDescriptions.get(entityClass);
+		}
 		if (description == null) {
 			if (entityClass.isAnnotationPresent(Entity.class)) {
 				// Description not build up to now
@@ -329,7 +663,7 @@ public class GeneratorContext {
 				description = new EntityClass<>(this, entityClass);
 
 				// First remember the description (to prevent endless loops)
-				this.descriptions.put(entityClass, description);
+				this.pendingDescriptions.put(entityClass, description);
 
 				// And now build the properties
 				description.build();
@@ -340,10 +674,10 @@ public class GeneratorContext {
 					return null;
 				}
 
-				description = (EntityClass<E>) getDescription(superClass);
+				description = (EntityClass<E>) buildDescription(superClass);
 				if (description != null) {
 					// Just remember description for our subclass
-					this.descriptions.put(entityClass, description);
+					this.pendingDescriptions.put(entityClass, description);
 				}
 			}
 
@@ -377,15 +711,52 @@ public class GeneratorContext {
 	 *
 	 * @param entityClass
 	 *            the current entity class
-	 * @return the states of the entities of that class (with their IDs as keys)
+	 * @return the states of the entities of that class (with their IDs as keys, or with the entities themselves as
+	 *         identity keys for {@link GeneratedIdProperty generated IDs} - weak keys for {@link #releaseEntities
+	 *         released entities})
 	 */
 	Map<Object, GenerationState> getStates(final EntityClass<?> entityClass) {
-		Map<Object, GenerationState> entityStates = this.states.get(entityClass.getEntityName());
-		if (entityStates == null) {
-			entityStates = new HashMap<>();
-			this.states.put(entityClass.getEntityName(), entityStates);
+		return this.states.computeIfAbsent(entityClass.getEntityName(), name -> {
+			if (!(entityClass.getIdProperty() instanceof GeneratedIdProperty)) {
+				return new ConcurrentHashMap<>();
+			}
+			if (this.releaseEntities) {
+				// Weak keys are compared by identity and are removed as soon as the entity is garbage collected
+				return new MapMaker().weakKeys().makeMap();
+			}
+			// The hash code of an entity may change as soon as its ID is generated, so we use its identity instead
+			return Collections.synchronizedMap(new IdentityHashMap<>());
+		});
+	}
+
+	/**
+	 * Finds the optimizer that derives the IDs from the values of a sequence.
+	 *
+	 * Without {@link #explicitIds explicit IDs}, only the IDs of a {@link SequenceOptimizer#POOLED_LO pooled-lo} block
+	 * can be written relative to the current value of the sequence. For all other optimizers, every ID is taken from a
+	 * new value of the sequence in that case.
+	 *
+	 * @param generator
+	 *            the generator of the current column
+	 * @return the optimizer for the IDs of the generator
+	 */
+	public SequenceOptimizer getSequenceOptimizer(final SequenceGenerator generator) {
+		final SequenceOptimizer optimizer = this.provider.getSequenceOptimizer(generator);
+		return this.explicitIds || optimizer == SequenceOptimizer.POOLED_LO ? optimizer : SequenceOptimizer.NONE;
+	}
+
+	/**
+	 * The dependencies between the tables of all entity classes known up to now.
+	 *
+	 * @return the dependencies, rebuilt if new entity classes were found since the last call
+	 */
+	public synchronized TableDependencyGraph getTableDependencies() {
+		if (this.tableDependencies == null || this.tableDependenciesSize != this.descriptions.size()) {
+			this.tableDependencies = new TableDependencyGraph(this);
+			// The graph may have found new descriptions
+			this.tableDependenciesSize = this.descriptions.size();
 		}
-		return entityStates;
+		return this.tableDependencies;
 	}
 
 }
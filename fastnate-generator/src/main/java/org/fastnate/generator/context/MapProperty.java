@@ -19,8 +19,10 @@ import javax.persistence.OneToMany;
 
 import org.fastnate.generator.converter.EntityConverter;
 import org.fastnate.generator.converter.ValueConverter;
+import org.fastnate.generator.statements.ColumnExpression;
 import org.fastnate.generator.statements.EntityStatement;
 import org.fastnate.generator.statements.InsertStatement;
+import org.fastnate.generator.statements.PlainColumnExpression;
 
 import com.google.common.base.Preconditions;
 
@@ -210,11 +212,12 @@ public class MapProperty<E, K, T> extends PluralProperty<E, Map<K, T>, T> {
 		}
 
 		final List<EntityStatement> result = new ArrayList<>();
-		final String sourceId = EntityConverter.getEntityReference(entity, getMappedId(), getContext(), false);
+		final ColumnExpression sourceId = EntityConverter.getEntityReference(entity, getMappedId(), getContext(),
+				false);
 		for (final Map.Entry<K, T> entry : getValue(entity).entrySet()) {
-			final String key;
+			final ColumnExpression key;
 			if (entry.getKey() == null) {
-				key = "null";
+				key = PlainColumnExpression.NULL;
 			} else if (this.keyEntityClass != null) {
 				key = EntityConverter.getEntityReference(entry.getKey(), getMappedId(), getContext(), false);
 			} else {
@@ -235,11 +238,11 @@ public class MapProperty<E, K, T> extends PluralProperty<E, Map<K, T>, T> {
 		return result;
 	}
 
-	private EntityStatement createDirectPropertyStatement(final E entity, final String sourceId, final String key,
-			final T value) {
-		final String target;
+	private EntityStatement createDirectPropertyStatement(final E entity, final ColumnExpression sourceId,
+			final ColumnExpression key, final T value) {
+		final ColumnExpression target;
 		if (value == null) {
-			target = "null";
+			target = PlainColumnExpression.NULL;
 		} else {
 			if (this.valueConverter != null) {
 				target = this.valueConverter.getExpression(value, getContext());
@@ -260,7 +263,8 @@ public class MapProperty<E, K, T> extends PluralProperty<E, Map<K, T>, T> {
 		return stmt;
 	}
 
-	private InsertStatement createEmbeddedPropertiesStatement(final String sourceId, final String key, final T value) {
+	private InsertStatement createEmbeddedPropertiesStatement(final ColumnExpression sourceId,
+			final ColumnExpression key, final T value) {
 		final InsertStatement stmt = new InsertStatement(this.table);
 
 		stmt.addValue(this.idColumn, sourceId);
@@ -304,9 +308,10 @@ public class MapProperty<E, K, T> extends PluralProperty<E, Map<K, T>, T> {
 	@Override
 	public List<EntityStatement> generatePendingStatements(final E entity, final Object writtenEntity,
 			final Object... arguments) {
-		final String sourceId = EntityConverter.getEntityReference(entity, getMappedId(), getContext(), false);
-		final EntityStatement statement = createDirectPropertyStatement(entity, (String) arguments[0], sourceId,
-				(T) writtenEntity);
+		final ColumnExpression sourceId = EntityConverter.getEntityReference(entity, getMappedId(), getContext(),
+				false);
+		final EntityStatement statement = createDirectPropertyStatement(entity, (ColumnExpression) arguments[0],
+				sourceId, (T) writtenEntity);
 		return statement == null ? Collections.<EntityStatement> emptyList() : Collections.singletonList(statement);
 	}
 
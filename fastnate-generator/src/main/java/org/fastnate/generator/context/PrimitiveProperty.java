@@ -26,7 +26,9 @@ import org.fastnate.generator.converter.SerializableConverter;
 import org.fastnate.generator.converter.StringConverter;
 import org.fastnate.generator.converter.UnsupportedTypeConverter;
 import org.fastnate.generator.converter.ValueConverter;
+import org.fastnate.generator.statements.ColumnExpression;
 import org.fastnate.generator.statements.InsertStatement;
+import org.fastnate.generator.statements.PlainColumnExpression;
 
 /**
  * Describes a singular primitive property of an {@link EntityClass}.
@@ -170,19 +172,19 @@ public class PrimitiveProperty<E, T> extends SingularProperty<E, T> {
 		} else {
 			failIfRequired();
 			if (this.context.isWriteNullValues()) {
-				statement.addValue(this.column, "null");
+				statement.addValue(this.column, PlainColumnExpression.NULL);
 			}
 		}
 	}
 
 	@Override
-	public String getExpression(final E entity, final boolean whereExpression) {
+	public ColumnExpression getExpression(final E entity, final boolean whereExpression) {
 		final T value = getValue(entity);
 		if (value == null) {
 			if (this.defaultValue != null) {
 				return this.converter.getExpression(this.defaultValue, this.context);
 			}
-			return "null";
+			return PlainColumnExpression.NULL;
 		}
 		return this.converter.getExpression(value, this.context);
 	}
@@ -194,7 +196,7 @@ public class PrimitiveProperty<E, T> extends SingularProperty<E, T> {
 			return this.column + " IS NULL";
 		}
 
-		return this.column + " = " + this.converter.getExpression(value, this.context);
+		return this.column + " = " + this.converter.getExpression(value, this.context).toSql(this.context.getDialect());
 	}
 
 }
@@ -6,6 +6,7 @@ import java.util.List;
 
 import lombok.Getter;
 
+import org.fastnate.generator.statements.ColumnExpression;
 import org.fastnate.generator.statements.EntityStatement;
 import org.fastnate.generator.statements.InsertStatement;
 
@@ -105,7 +106,7 @@ public abstract class Property<E, T> {
 	 *            indicates that the expression is used in a "where" statement
 	 * @return the expression for the value of this property or {@code null} if no exists
 	 */
-	public String getExpression(final E entity, final boolean whereExpression) {
+	public ColumnExpression getExpression(final E entity, final boolean whereExpression) {
 		return null;
 	}
 
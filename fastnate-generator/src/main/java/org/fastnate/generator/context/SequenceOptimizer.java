@@ -0,0 +1,194 @@
+package org.fastnate.generator.context;
+
+import javax.persistence.SequenceGenerator;
+
+/**
+ * Describes how the JPA provider derives the IDs of entities from the values of a sequence.
+ *
+ * Most optimizers use one value of the sequence for a block of IDs, where the size of the block is the
+ * {@link SequenceGenerator#allocationSize() allocation size} of the generator.
+ *
+ * @author Tobias Liefke
+ */
+public enum SequenceOptimizer {
+
+	/**
+	 * Every value of the sequence is used as one ID, the sequence is incremented by the allocation size.
+	 */
+	NONE {
+
+		@Override
+		public long getFirstId(final long value, final int allocationSize) {
+			return value;
+		}
+
+		@Override
+		public long getIncrementSize(final int allocationSize) {
+			return allocationSize;
+		}
+
+		@Override
+		public long getLastId(final long value, final int allocationSize) {
+			return value;
+		}
+
+		@Override
+		public long getValue(final long firstId, final int allocationSize) {
+			return firstId;
+		}
+
+	},
+
+	/**
+	 * The value of the sequence is the last ID of the block, the sequence is incremented by the allocation size.
+	 */
+	POOLED {
+
+		@Override
+		public long getFirstId(final long value, final int allocationSize) {
+			return value - allocationSize + 1;
+		}
+
+		@Override
+		public long getIncrementSize(final int allocationSize) {
+			return allocationSize;
+		}
+
+		@Override
+		public long getLastId(final long value, final int allocationSize) {
+			return value;
+		}
+
+		@Override
+		public long getValue(final long firstId, final int allocationSize) {
+			return firstId + allocationSize - 1;
+		}
+
+	},
+
+	/**
+	 * The value of the sequence is the first ID of the block, the sequence is incremented by the allocation size.
+	 */
+	POOLED_LO {
+
+		@Override
+		public long getFirstId(final long value, final int allocationSize) {
+			return value;
+		}
+
+		@Override
+		public long getIncrementSize(final int allocationSize) {
+			return allocationSize;
+		}
+
+		@Override
+		public long getLastId(final long value, final int allocationSize) {
+			return value + allocationSize - 1;
+		}
+
+		@Override
+		public long getValue(final long firstId, final int allocationSize) {
+			return firstId;
+		}
+
+	},
+
+	/**
+	 * The value of the sequence is multiplied with the allocation size to find the last ID of the block, the sequence
+	 * is incremented by one.
+	 */
+	HILO {
+
+		@Override
+		public long getFirstId(final long value, final int allocationSize) {
+			return (value - 1) * allocationSize + 1;
+		}
+
+		@Override
+		public long getIncrementSize(final int allocationSize) {
+			return 1;
+		}
+
+		@Override
+		public long getLastId(final long value, final int allocationSize) {
+			return value * allocationSize;
+		}
+
+		@Override
+		public long getValue(final long firstId, final int allocationSize) {
+			return -Math.floorDiv(1 - firstId, allocationSize) + 1;
+		}
+
+	},
+
+	/**
+	 * The value of the sequence is multiplied with the allocation size to find the first ID of the block, the
+	 * sequence is incremented by one.
+	 */
+	LEGACY_HILO {
+
+		@Override
+		public long getFirstId(final long value, final int allocationSize) {
+			return value * allocationSize;
+		}
+
+		@Override
+		public long getIncrementSize(final int allocationSize) {
+			return 1;
+		}
+
+		@Override
+		public long getLastId(final long value, final int allocationSize) {
+			return value * allocationSize + allocationSize - 1;
+		}
+
+		@Override
+		public long getValue(final long firstId, final int allocationSize) {
+			return -Math.floorDiv(-firstId, allocationSize);
+		}
+
+	};
+
+	/**
+	 * Finds the first ID of the block of a value of the sequence.
+	 *
+	 * @param value
+	 *            the value of the sequence
+	 * @param allocationSize
+	 *            the allocation size of the generator
+	 * @return the first ID of the block
+	 */
+	public abstract long getFirstId(long value, int allocationSize);
+
+	/**
+	 * Finds the increment of the sequence in the database.
+	 *
+	 * @param allocationSize
+	 *            the allocation size of the generator
+	 * @return the difference between two consecutive values of the sequence
+	 */
+	public abstract long getIncrementSize(int allocationSize);
+
+	/**
+	 * Finds the last ID of the block of a value of the sequence.
+	 *
+	 * @param value
+	 *            the value of the sequence
+	 * @param allocationSize
+	 *            the allocation size of the generator
+	 * @return the last ID of the block
+	 */
+	public abstract long getLastId(long value, int allocationSize);
+
+	/**
+	 * Finds the smallest value of the sequence, whose block starts not before the given ID.
+	 *
+	 * @param firstId
+	 *            the minimum first ID of the block
+	 * @param allocationSize
+	 *            the allocation size of the generator
+	 * @return the value of the sequence for the block
+	 */
+	public abstract long getValue(long firstId, int allocationSize);
+
+}
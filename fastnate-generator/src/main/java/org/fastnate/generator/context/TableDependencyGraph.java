@@ -0,0 +1,212 @@
+package org.fastnate.generator.context;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Orders the tables of all known entity classes according to their foreign keys.
+ *
+ * The tables are combined into groups of tables that reference each other (directly or indirectly). These groups are
+ * sorted, so that any group only references tables of the same or of a previous group. The rows of the tables of one
+ * group need to be written in the order of their generation, as these contain the updates to resolve any cycle.
+ *
+ * @author Tobias Liefke
+ */
+public class TableDependencyGraph {
+
+	/** The referenced tables for each table. */
+	private final Map<String, Set<String>> dependencies = new TreeMap<>();
+
+	/** The position of the group of each table. */
+	private final Map<String, Integer> positions = new HashMap<>();
+
+	/** The count of found groups. */
+	private int groupCount;
+
+	/** The index of each table during the search for groups. */
+	private final Map<String, Integer> indices = new HashMap<>();
+
+	/** The tables of the current search path during the search for groups. */
+	private final Deque<String> path = new ArrayDeque<>();
+
+	/**
+	 * Builds the dependencies between all entity classes that are known to the given context.
+	 *
+	 * @param context
+	 *            the current context
+	 */
+	public TableDependencyGraph(final GeneratorContext context) {
+		// Copy the descriptions, as we may find new ones
+		for (final EntityClass<?> description : new ArrayList<>(context.getDescriptions().values())) {
+			addDependencies(context, description);
+		}
+		for (final String table : this.dependencies.keySet()) {
+			if (!this.indices.containsKey(table)) {
+				findGroups(table);
+			}
+		}
+		this.indices.clear();
+	}
+
+	private void addDependencies(final GeneratorContext context, final EntityClass<?> description) {
+		final String table = description.getTable();
+		getDependencies(table);
+		if (description.getJoinedParentClass() != null) {
+			addDependency(table, description.getJoinedParentClass().getTable());
+		} else if (description.getIdProperty() != null) {
+			addDependencies(context, table, description.getIdProperty());
+		}
+		for (final Property<?, ?> property : description.getProperties().values()) {
+			addDependencies(context, table, property);
+		}
+	}
+
+	private void addDependencies(final GeneratorContext context, final String table, final Property<?, ?> property) {
+		if (property instanceof EntityProperty) {
+			final EntityProperty<?, ?> entityProperty = (EntityProperty<?, ?>) property;
+			if (entityProperty.getMappedBy() == null && entityProperty.getAnyColumn() == null) {
+				final EntityClass<?> targetClass = context.getDescription(property.getAttribute().getType());
+				if (targetClass != null) {
+					addDependency(table, targetClass.getTable());
+				}
+			}
+		} else if (property instanceof EmbeddedProperty) {
+			for (final Property<?, ?> embeddedProperty : ((EmbeddedProperty<?, ?>) property).getEmbeddedProperties()
+					.values()) {
+				addDependencies(context, table, embeddedProperty);
+			}
+		} else if (property instanceof CollectionProperty) {
+			final CollectionProperty<?, ?> collection = (CollectionProperty<?, ?>) property;
+			// Either the collection table or the target table references the owner
+			addDependency(collection.getTable(), table);
+			if (!collection.isUseTargetTable()) {
+				if (collection.getTargetEntityClass() != null) {
+					addDependency(collection.getTable(), collection.getTargetEntityClass().getTable());
+				}
+				addEmbeddedDependencies(context, collection);
+			}
+		} else if (property instanceof MapProperty) {
+			final MapProperty<?, ?, ?> map = (MapProperty<?, ?, ?>) property;
+			if (map.getTable() != null) {
+				addDependency(map.getTable(), table);
+				if (map.getKeyEntityClass() != null) {
+					addDependency(map.getTable(), map.getKeyEntityClass().getTable());
+				}
+				if (map.getValueEntityClass() != null) {
+					addDependency(map.getTable(), map.getValueEntityClass().getTable());
+				}
+				addEmbeddedDependencies(context, map);
+			}
+		}
+	}
+
+	private void addDependency(final String table, final String referencedTable) {
+		getDependencies(table).add(referencedTable);
+		getDependencies(referencedTable);
+	}
+
+	private void addEmbeddedDependencies(final GeneratorContext context, final PluralProperty<?, ?, ?> property) {
+		if (property.isEmbedded()) {
+			for (final Property<?, ?> embeddedProperty : property.getEmbeddedProperties()) {
+				addDependencies(context, property.getTable(), embeddedProperty);
+			}
+		}
+	}
+
+	/**
+	 * Finds the groups of strongly connected tables (using the algorithm of Tarjan), starting with the given table.
+	 *
+	 * A group is finished only after all groups referenced by that group, so the groups are found in the order of
+	 * their dependencies.
+	 */
+	private int findGroups(final String table) {
+		final int index = this.indices.size();
+		this.indices.put(table, index);
+		this.path.push(table);
+		int lowLink = index;
+		for (final String referencedTable : this.dependencies.get(table)) {
+			final Integer referencedIndex = this.indices.get(referencedTable);
+			if (referencedIndex == null) {
+				lowLink = Math.min(lowLink, findGroups(referencedTable));
+			} else if (!this.positions.containsKey(referencedTable)) {
+				// Table is in the current path
+				lowLink = Math.min(lowLink, referencedIndex);
+			}
+		}
+		if (lowLink == index) {
+			// Table is the root of a group - remove the group from the path
+			String groupTable;
+			do {
+				groupTable = this.path.pop();
+				this.positions.put(groupTable, this.groupCount);
+			} while (!groupTable.equals(table));
+			this.groupCount++;
+		}
+		return lowLink;
+	}
+
+	private Set<String> getDependencies(final String table) {
+		Set<String> tableDependencies = this.dependencies.get(table);
+		if (tableDependencies == null) {
+			tableDependencies = new TreeSet<>();
+			this.dependencies.put(table, tableDependencies);
+		}
+		return tableDependencies;
+	}
+
+	/**
+	 * Finds the position of the group of a table.
+	 *
+	 * @param table
+	 *            the name of the table
+	 * @return the position of the group of the table, tables of one group reference each other - unknown tables are
+	 *         positioned after all known tables
+	 */
+	public int getPosition(final String table) {
+		final Integer position = this.positions.get(table);
+		return position == null ? this.groupCount : position;
+	}
+
+	/**
+	 * Finds the tables that are referenced by foreign keys of the given table.
+	 *
+	 * @param table
+	 *            the name of the table
+	 * @return the names of the referenced tables, empty if the table is unknown
+	 */
+	public Set<String> getReferencedTables(final String table) {
+		final Set<String> tableDependencies = this.dependencies.get(table);
+		return tableDependencies == null ? Collections.<String> emptySet()
+				: Collections.unmodifiableSet(tableDependencies);
+	}
+
+	/**
+	 * All tables of the entity classes and their collections, which were known when this graph was built.
+	 *
+	 * @return the names of all known tables
+	 */
+	public Set<String> getTables() {
+		return Collections.unmodifiableSet(this.dependencies.keySet());
+	}
+
+	/**
+	 * Indicates that the given tables are in the same group, as they reference each other.
+	 *
+	 * @param table1
+	 *            the name of the first table
+	 * @param table2
+	 *            the name of the second table
+	 * @return {@code true} if both tables are part of the same cycle of references
+	 */
+	public boolean isSameGroup(final String table1, final String table2) {
+		return getPosition(table1) == getPosition(table2);
+	}
+
+}
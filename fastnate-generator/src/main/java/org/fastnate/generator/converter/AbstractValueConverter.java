@@ -1,6 +1,8 @@
 package org.fastnate.generator.converter;
 
 import org.fastnate.generator.context.GeneratorContext;
+import org.fastnate.generator.statements.ColumnExpression;
+import org.fastnate.generator.statements.PlainColumnExpression;
 
 /**
  * Base class for {@link ValueConverter}.
@@ -12,8 +14,8 @@ import org.fastnate.generator.context.GeneratorContext;
 public abstract class AbstractValueConverter<T> implements ValueConverter<T> {
 
 	@Override
-	public String getExpression(final String defaultValue, final GeneratorContext context) {
-		return defaultValue;
+	public ColumnExpression getExpression(final String defaultValue, final GeneratorContext context) {
+		return new PlainColumnExpression(defaultValue);
 	}
 
 }
@@ -2,6 +2,9 @@ package org.fastnate.generator.converter;
 
 import org.fastnate.generator.context.EntityClass;
 import org.fastnate.generator.context.GeneratorContext;
+import org.fastnate.generator.statements.ColumnExpression;
+import org.fastnate.generator.statements.PlainColumnExpression;
+import org.fastnate.generator.statements.StringColumnExpression;
 
 /**
  * Describes a char property of an {@link EntityClass}.
@@ -11,13 +14,14 @@ import org.fastnate.generator.context.GeneratorContext;
 public class CharConverter extends AbstractValueConverter<Character> {
 
 	@Override
-	public String getExpression(final Character value, final GeneratorContext context) {
-		return context.getDialect().quoteString(String.valueOf(value));
+	public ColumnExpression getExpression(final Character value, final GeneratorContext context) {
+		return new StringColumnExpression(String.valueOf(value));
 	}
 
 	@Override
-	public String getExpression(final String defaultValue, final GeneratorContext context) {
-		return defaultValue.length() <= 1 ? getExpression(defaultValue.charAt(0), context) : defaultValue;
+	public ColumnExpression getExpression(final String defaultValue, final GeneratorContext context) {
+		return defaultValue.length() <= 1 ? getExpression(defaultValue.charAt(0), context)
+				: new PlainColumnExpression(defaultValue);
 	}
 
 }
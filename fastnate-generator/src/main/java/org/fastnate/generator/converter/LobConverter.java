@@ -3,6 +3,9 @@ package org.fastnate.generator.converter;
 import javax.persistence.Lob;
 
 import org.fastnate.generator.context.GeneratorContext;
+import org.fastnate.generator.statements.BinaryColumnExpression;
+import org.fastnate.generator.statements.ColumnExpression;
+import org.fastnate.generator.statements.StringColumnExpression;
 
 /**
  * Generates the expression for a {@link Lob property}.
@@ -12,21 +15,21 @@ import org.fastnate.generator.context.GeneratorContext;
 public class LobConverter implements ValueConverter<Object> {
 
 	@Override
-	public String getExpression(final Object value, final GeneratorContext context) {
+	public ColumnExpression getExpression(final Object value, final GeneratorContext context) {
 		if (value instanceof String) {
-			return context.getDialect().quoteString((String) value);
+			return new StringColumnExpression((String) value);
 		}
 		if (value instanceof char[]) {
-			return context.getDialect().quoteString(new String((char[]) value));
+			return new StringColumnExpression(new String((char[]) value));
 		}
 		if (value instanceof byte[]) {
-			return context.getDialect().createBlobExpression((byte[]) value);
+			return new BinaryColumnExpression((byte[]) value);
 		}
 		throw new IllegalArgumentException("Can't handle LOB of type " + value.getClass());
 	}
 
 	@Override
-	public String getExpression(final String defaultValue, final GeneratorContext context) {
+	public ColumnExpression getExpression(final String defaultValue, final GeneratorContext context) {
 		return getExpression((Object) defaultValue, context);
 	}
 
@@ -1,6 +1,8 @@
 package org.fastnate.generator.converter;
 
 import org.fastnate.generator.context.GeneratorContext;
+import org.fastnate.generator.statements.ColumnExpression;
+import org.fastnate.generator.statements.NumberColumnExpression;
 
 /**
  * Converts a numeric value to a SQL expression.
@@ -10,7 +12,7 @@ import org.fastnate.generator.context.GeneratorContext;
 public class NumberConverter extends AbstractValueConverter<Number> {
 
 	@Override
-	public String getExpression(final Number value, final GeneratorContext context) {
-		return String.valueOf(value);
+	public ColumnExpression getExpression(final Number value, final GeneratorContext context) {
+		return new NumberColumnExpression(value);
 	}
 }
@@ -8,6 +8,8 @@ import javax.validation.constraints.Size;
 import org.fastnate.generator.context.AttributeAccessor;
 import org.fastnate.generator.context.EntityClass;
 import org.fastnate.generator.context.GeneratorContext;
+import org.fastnate.generator.statements.ColumnExpression;
+import org.fastnate.generator.statements.StringColumnExpression;
 
 /**
  * Converts a string property of an {@link EntityClass}.
@@ -69,7 +71,7 @@ public class StringConverter extends AbstractValueConverter<String> {
 	}
 
 	@Override
-	public String getExpression(final String value, final GeneratorContext context) {
+	public ColumnExpression getExpression(final String value, final GeneratorContext context) {
 		// Check constraints
 		if (value.length() > this.maxSize) {
 			throw new IllegalArgumentException("The length of the given string value (" + value.length()
@@ -85,8 +87,7 @@ public class StringConverter extends AbstractValueConverter<String> {
 					+ " must be not empty for the current database type.");
 		}
 
-		// Replace all special characters
-		return context.getDialect().quoteString(value);
+		return new StringColumnExpression(value);
 	}
 
 }
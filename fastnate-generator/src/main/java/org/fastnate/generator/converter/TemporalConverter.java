@@ -12,6 +12,8 @@ import lombok.RequiredArgsConstructor;
 import org.fastnate.generator.context.AttributeAccessor;
 import org.fastnate.generator.context.EntityClass;
 import org.fastnate.generator.context.GeneratorContext;
+import org.fastnate.generator.statements.ColumnExpression;
+import org.fastnate.generator.statements.TemporalColumnExpression;
 
 /**
  * Base class for converting a temporal property of an {@link EntityClass}.
@@ -59,8 +61,8 @@ public abstract class TemporalConverter<T> extends AbstractValueConverter<T> {
 	 *            the current context
 	 * @return the SQL expression
 	 */
-	public String getExpression(final Date value, final GeneratorContext context) {
-		return context.getDialect().convertTemporalValue(value, this.type);
+	public ColumnExpression getExpression(final Date value, final GeneratorContext context) {
+		return new TemporalColumnExpression(value, this.type);
 	}
 
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package org.fastnate.generator.converter;
 
 import org.fastnate.generator.DefaultValue;
 import org.fastnate.generator.context.GeneratorContext;
+import org.fastnate.generator.statements.ColumnExpression;
 
 /**
  * Converts a primitive value to an expression.
@@ -19,9 +20,9 @@ public interface ValueConverter<T> {
 	 *            the default value, as given in an {@link DefaultValue} expression
 	 * @param context
 	 *            the current context (contains the database dialect).
-	 * @return the expression (that is including surrounding ' for string literals)
+	 * @return the expression of the value
 	 */
-	String getExpression(final String defaultValue, final GeneratorContext context);
+	ColumnExpression getExpression(final String defaultValue, final GeneratorContext context);
 
 	/**
 	 * Builds the expression for writing the given value into an SQL clause.
@@ -30,8 +31,8 @@ public interface ValueConverter<T> {
 	 *            the current value
 	 * @param context
 	 *            the current context (contains the database dialect).
-	 * @return the expression (that is including surrounding ' for string literals)
+	 * @return the expression of the value
 	 */
-	String getExpression(final T value, final GeneratorContext context);
+	ColumnExpression getExpression(final T value, final GeneratorContext context);
 
 }
@@ -1,15 +1,27 @@
 package org.fastnate.generator.dialect;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
 
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.TemporalType;
 import javax.validation.constraints.NotNull;
 
+import org.fastnate.generator.statements.ColumnExpression;
 import org.fastnate.generator.statements.EntityStatement;
+import org.fastnate.generator.statements.IdentityColumnExpression;
+import org.fastnate.generator.statements.InsertStatement;
+import org.fastnate.generator.statements.SequenceColumnExpression;
+import org.fastnate.generator.statements.SubselectColumnExpression;
+
+import com.google.common.base.Joiner;
 
 import lombok.Getter;
 
@@ -30,8 +42,36 @@ public abstract class GeneratorDialect {
 	 */
 	public static final Date NOW = new Date();
 
-	private static void finishPart(final StringBuilder result, final String value, final int start, final int end,
-			final boolean isOpen, final boolean close) {
+	private static final Joiner JOINER = Joiner.on(", ");
+
+	/**
+	 * Appends a part of a string to the given target.
+	 *
+	 * In contrast to {@link Appendable#append(CharSequence, int, int)} this will not create a substring for a
+	 * {@link Writer}.
+	 *
+	 * @param result
+	 *            the target
+	 * @param value
+	 *            the string that contains the part
+	 * @param start
+	 *            the index of the first character of the part
+	 * @param end
+	 *            the index after the last character of the part
+	 * @throws IOException
+	 *             if the target throws one
+	 */
+	protected static void append(final Appendable result, final String value, final int start, final int end)
+			throws IOException {
+		if (result instanceof Writer) {
+			((Writer) result).write(value, start, end - start);
+		} else {
+			result.append(value, start, end);
+		}
+	}
+
+	private static void finishPart(final Appendable result, final String value, final int start, final int end,
+			final boolean isOpen, final boolean close) throws IOException {
 		if (start < end) {
 			if (!isOpen) {
 				if (start > 0) {
@@ -39,7 +79,7 @@ public abstract class GeneratorDialect {
 				}
 				result.append('\'');
 			}
-			result.append(value, start, end);
+			append(result, value, start, end);
 			if (close) {
 				result.append('\'');
 			}
@@ -55,6 +95,305 @@ public abstract class GeneratorDialect {
 
 	private final char[] letter = "0123456789ABCDEF".toCharArray();
 
+	/**
+	 * Writes the statements that commit the current transaction of a script.
+	 *
+	 * @param result
+	 *            the target of the SQL
+	 * @throws IOException
+	 *             if the target throws one
+	 */
+	public void appendCommit(final Appendable result) throws IOException {
+		result.append("COMMIT;\n");
+	}
+
+	/**
+	 * Writes the statements that disable the checks of constraints for the current session, before any data is
+	 * written.
+	 *
+	 * Nothing is written by default, as most databases can't disable the checks for a complete session.
+	 *
+	 * @param result
+	 *            the target of the SQL
+	 * @throws IOException
+	 *             if the target throws one
+	 * @see #appendEnableConstraints(Appendable)
+	 */
+	public void appendDisableConstraints(final Appendable result) throws IOException {
+		// Nothing to do by default
+	}
+
+	/**
+	 * Writes the statements that disable the checks of the constraints of a table, before any data is written to that
+	 * table.
+	 *
+	 * Nothing is written by default, see {@link #appendDisableConstraints(Appendable)} for the checks of the complete
+	 * session.
+	 *
+	 * @param result
+	 *            the target of the SQL
+	 * @param table
+	 *            the name of the table
+	 * @throws IOException
+	 *             if the target throws one
+	 * @see #appendEnableConstraints(Appendable, String)
+	 */
+	public void appendDisableConstraints(final Appendable result, final String table) throws IOException {
+		// Nothing to do by default
+	}
+
+	/**
+	 * Writes the statements that enable the checks of constraints for the current session again, after all data was
+	 * written.
+	 *
+	 * @param result
+	 *            the target of the SQL
+	 * @throws IOException
+	 *             if the target throws one
+	 * @see #appendDisableConstraints(Appendable)
+	 */
+	public void appendEnableConstraints(final Appendable result) throws IOException {
+		// Nothing to do by default
+	}
+
+	/**
+	 * Writes the statements that enable the checks of the constraints of a table again, after all data was written.
+	 *
+	 * @param result
+	 *            the target of the SQL
+	 * @param table
+	 *            the name of the table
+	 * @throws IOException
+	 *             if the target throws one
+	 * @see #appendDisableConstraints(Appendable, String)
+	 */
+	public void appendEnableConstraints(final Appendable result, final String table) throws IOException {
+		// Nothing to do by default
+	}
+
+	/**
+	 * Writes the statement that restarts an identity column with the given value, for example after rows with
+	 * {@link org.fastnate.generator.context.GeneratorContext#EXPLICIT_IDS_KEY explicit IDs} were written.
+	 *
+	 * @param result
+	 *            the target of the SQL
+	 * @param table
+	 *            the name of the table
+	 * @param column
+	 *            the name of the identity column
+	 * @param nextValue
+	 *            the next value of the identity column
+	 * @throws IOException
+	 *             if the target throws one
+	 */
+	public void appendIdentityRestart(final Appendable result, final String table, final String column,
+			final long nextValue) throws IOException {
+		result.append("ALTER TABLE ").append(table).append(" ALTER COLUMN ").append(column).append(" RESTART WITH ")
+				.append(String.valueOf(nextValue)).append(";\n");
+	}
+
+	/**
+	 * Writes the statement that stores the value of an identity column, which was generated by the last insert, in a
+	 * variable of the session.
+	 *
+	 * @param result
+	 *            the target of the SQL
+	 * @param index
+	 *            the index of the variable
+	 * @param table
+	 *            the name of the table
+	 * @param column
+	 *            the name of the identity column
+	 * @throws IOException
+	 *             if the target throws one
+	 * @throws IllegalArgumentException
+	 *             if the database has no variables for identity values
+	 * @see #isIdentityVariableSupported()
+	 */
+	public void appendIdentityVariable(final Appendable result, final int index, final String table,
+			final String column) throws IOException {
+		throw new IllegalArgumentException("Identity variables are not supported by " + getClass().getSimpleName());
+	}
+
+	/**
+	 * Writes the SQL for the given statement to the given target.
+	 *
+	 * Usually just {@link EntityStatement#appendSql(GeneratorDialect, Appendable)} is called, but some dialects could
+	 * change database specific things.
+	 *
+	 * @param stmt
+	 *            contains the table and all column values
+	 * @param result
+	 *            the target of the SQL
+	 * @throws IOException
+	 *             if the target throws one
+	 */
+	public void appendSql(final EntityStatement stmt, final Appendable result) throws IOException {
+		stmt.appendSql(this, result);
+	}
+
+	/**
+	 * Writes one SQL statement for a list of insert statements into the same table with the same columns.
+	 *
+	 * The default implementation creates a multi-row insert: {@code INSERT INTO table (columns) VALUES (...), (...)}.
+	 *
+	 * @param stmts
+	 *            the statements to combine, each one has passed {@link #isMultiRowInsertPossible(InsertStatement)}
+	 * @param result
+	 *            the target of the SQL
+	 * @throws IOException
+	 *             if the target throws one
+	 */
+	public void appendSql(final List<? extends InsertStatement> stmts, final Appendable result) throws IOException {
+		if (stmts.size() == 1) {
+			appendSql(stmts.get(0), result);
+			return;
+		}
+		final InsertStatement firstStmt = stmts.get(0);
+		final Collection<String> columns = firstStmt.getValues().keySet();
+		result.append("INSERT INTO ").append(firstStmt.getTable()).append(" (");
+		JOINER.appendTo(result, columns).append(") VALUES ");
+		for (final Iterator<? extends InsertStatement> iterator = stmts.iterator(); iterator.hasNext();) {
+			appendValues(result, iterator.next(), columns);
+			if (iterator.hasNext()) {
+				result.append(", ");
+			}
+		}
+		result.append(";\n");
+	}
+
+	/**
+	 * Writes the statement that restarts a sequence with the given value, for example after rows with
+	 * {@link org.fastnate.generator.context.GeneratorContext#EXPLICIT_IDS_KEY explicit IDs} were written.
+	 *
+	 * @param result
+	 *            the target of the SQL
+	 * @param sequence
+	 *            the name of the sequence
+	 * @param nextValue
+	 *            the next value of the sequence
+	 * @throws IOException
+	 *             if the target throws one
+	 */
+	public void appendSequenceRestart(final Appendable result, final String sequence, final long nextValue)
+			throws IOException {
+		result.append("ALTER SEQUENCE ").append(sequence).append(" RESTART WITH ").append(String.valueOf(nextValue))
+				.append(";\n");
+	}
+
+	/**
+	 * Writes the statement that creates an empty temporary table for the current session, which has the given columns
+	 * of the given tables.
+	 *
+	 * @param result
+	 *            the target of the SQL
+	 * @param stagingTable
+	 *            the name of the table, as built by {@link #buildStagingTable(String)}
+	 * @param columns
+	 *            the selected columns that define the columns of the staging table, like {@code "t.a, r.b AS c"}
+	 * @param tables
+	 *            the tables that contain the selected columns, like {@code "target t, other r"}
+	 * @throws IOException
+	 *             if the target throws one
+	 * @see #isStagingTableSupported()
+	 */
+	public void appendStagingTableCreate(final Appendable result, final String stagingTable, final String columns,
+			final String tables) throws IOException {
+		result.append("CREATE TEMPORARY TABLE ").append(stagingTable).append(" AS SELECT ").append(columns)
+				.append(" FROM ").append(tables).append(" WHERE 1 = 0;\n");
+	}
+
+	/**
+	 * Writes the statement that drops a temporary table, which was created with
+	 * {@link #appendStagingTableCreate(Appendable, String, String, String)}.
+	 *
+	 * @param result
+	 *            the target of the SQL
+	 * @param stagingTable
+	 *            the name of the table
+	 * @throws IOException
+	 *             if the target throws one
+	 */
+	public void appendStagingTableDrop(final Appendable result, final String stagingTable) throws IOException {
+		result.append("DROP TABLE ").append(stagingTable).append(";\n");
+	}
+
+	/**
+	 * Writes the SQL expression for the given date to the given target.
+	 *
+	 * @param value
+	 *            the timestamp value
+	 * @param type
+	 *            the type
+	 * @param result
+	 *            the target of the expression
+	 * @throws IOException
+	 *             if the target throws one
+	 */
+	public void appendTemporalValue(final Date value, final TemporalType type, final Appendable result)
+			throws IOException {
+		result.append(convertTemporalValue(value, type));
+	}
+
+	/**
+	 * Writes the statements that start a transaction in a script, for example by disabling the auto commit mode.
+	 *
+	 * Nothing is written by default, as the transaction starts implicitly in most databases.
+	 *
+	 * @param result
+	 *            the target of the SQL
+	 * @throws IOException
+	 *             if the target throws one
+	 */
+	public void appendTransactionStart(final Appendable result) throws IOException {
+		// Nothing to do by default
+	}
+
+	/**
+	 * Writes the values of the given statement in the order of the given columns.
+	 *
+	 * @param result
+	 *            the target of the values
+	 * @param stmt
+	 *            the statement that contains the values
+	 * @param columns
+	 *            the columns of the values
+	 * @throws IOException
+	 *             if the target throws one
+	 */
+	protected void appendValues(final Appendable result, final InsertStatement stmt,
+			final Collection<String> columns) throws IOException {
+		result.append('(');
+		for (final Iterator<String> iterator = columns.iterator(); iterator.hasNext();) {
+			stmt.getValues().get(iterator.next()).appendSql(this, result);
+			if (iterator.hasNext()) {
+				result.append(", ");
+			}
+		}
+		result.append(')');
+	}
+
+	/**
+	 * Builds the statement that imports a CSV file into a table.
+	 *
+	 * The file starts with a header line that contains the names of the columns. The values are separated by
+	 * {@code ','}, strings are enclosed in {@code '"'} (with doubled quotes inside), {@code null} is written as
+	 * {@link #getCsvNullValue()} and the lines end with {@code '\n'}.
+	 *
+	 * @param table
+	 *            the name of the table
+	 * @param columns
+	 *            the columns of the file, in the order of the values
+	 * @param file
+	 *            the path to the file, as seen from the database
+	 * @return the statement (without the terminating ';') to use in the import script
+	 * @throws IllegalArgumentException
+	 *             if the database has no bulk import for CSV files
+	 */
+	public String buildCsvImport(final String table, final Collection<String> columns, final String file) {
+		throw new IllegalArgumentException("CSV imports are not supported by " + getClass().getSimpleName());
+	}
+
 	/**
 	 * Builds the SQL expression that is used for referencing the current value of the given sequence.
 	 *
@@ -66,6 +405,18 @@ public abstract class GeneratorDialect {
 		return "currval('" + sequence + "')";
 	}
 
+	/**
+	 * Builds the expression that references a variable of the session, that contains the value of an identity column.
+	 *
+	 * @param index
+	 *            the index of the variable
+	 * @return the expression for the variable, in the syntax of user defined variables in H2 and MySQL by default
+	 * @see #appendIdentityVariable(Appendable, int, String, String)
+	 */
+	public String buildIdentityVariable(final int index) {
+		return "@fastnate_id_" + index;
+	}
+
 	/**
 	 * Builds the SQL expression that is used for creating the next value of the given sequence.
 	 *
@@ -77,6 +428,18 @@ public abstract class GeneratorDialect {
 		return "nextval('" + sequence + "')";
 	}
 
+	/**
+	 * Builds the name of the temporary table for the rows of the given table, which are inserted with a single
+	 * statement after their references were resolved.
+	 *
+	 * @param table
+	 *            the name of the target table
+	 * @return the name of the temporary table
+	 */
+	public String buildStagingTable(final String table) {
+		return "fastnate_staging_" + table.replaceAll("\\W", "_");
+	}
+
 	/**
 	 * Converts a boolean value for the current database type.
 	 *
@@ -159,15 +522,39 @@ public abstract class GeneratorDialect {
 	/**
 	 * Creates an SQL statement from the given insert statement.
 	 *
-	 * Usually just {@link EntityStatement#toString()} is returned, but some dialects could change database specific
-	 * things.
-	 *
 	 * @param stmt
 	 *            contains the table and all column values
 	 * @return the SQL
+	 * @see #appendSql(EntityStatement, Appendable)
 	 */
 	public String createSql(final EntityStatement stmt) {
-		return stmt.toString();
+		final StringBuilder result = new StringBuilder();
+		try {
+			appendSql(stmt, result);
+		} catch (final IOException e) {
+			// Not thrown by a StringBuilder
+			throw new IllegalStateException(e);
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Creates one SQL statement for a list of insert statements into the same table with the same columns.
+	 *
+	 * @param stmts
+	 *            the statements to combine, each one has passed {@link #isMultiRowInsertPossible(InsertStatement)}
+	 * @return the SQL that inserts all rows at once
+	 * @see #appendSql(List, Appendable)
+	 */
+	public String createSql(final List<? extends InsertStatement> stmts) {
+		final StringBuilder result = new StringBuilder();
+		try {
+			appendSql(stmts, result);
+		} catch (final IOException e) {
+			// Not thrown by a StringBuilder
+			throw new IllegalStateException(e);
+		}
+		return result.toString();
 	}
 
 	/**
@@ -180,6 +567,24 @@ public abstract class GeneratorDialect {
 				: isIdentitySupported() ? GenerationType.IDENTITY : GenerationType.TABLE;
 	}
 
+	/**
+	 * The representation of {@code null} in a file for a {@link #buildCsvImport CSV import}.
+	 *
+	 * @return the unquoted value that is imported as {@code null}
+	 */
+	public String getCsvNullValue() {
+		return "";
+	}
+
+	/**
+	 * The maximum count of rows that this database accepts in one {@link #createSql(List) multi-row insert}.
+	 *
+	 * @return the maximum count of rows in one insert statement
+	 */
+	public int getMaxInsertRows() {
+		return Integer.MAX_VALUE;
+	}
+
 	/**
 	 * Indicates that the empty string is equal to {@code null} in this database.
 	 *
@@ -191,6 +596,15 @@ public abstract class GeneratorDialect {
 		return false;
 	}
 
+	/**
+	 * Indicates that the value of an identity column can be stored in a variable of the session.
+	 *
+	 * @return {@code true} if {@link #appendIdentityVariable(Appendable, int, String, String)} is supported
+	 */
+	public boolean isIdentityVariableSupported() {
+		return false;
+	}
+
 	/**
 	 * Indicates that identity columns are supported by the database.
 	 * 
@@ -200,6 +614,33 @@ public abstract class GeneratorDialect {
 		return true;
 	}
 
+	/**
+	 * Indicates that the given insert statement may be combined with other insert statements for the same table into
+	 * one {@link #createSql(List) multi-row insert}.
+	 *
+	 * Values that select from the same table or reference the current value of a sequence depend on the rows written
+	 * before. As these rows are not visible within the same statement, such inserts are never combined.
+	 *
+	 * @param stmt
+	 *            the insert statement to check
+	 * @return {@code true} if the statement may be combined with the statements before and after it
+	 */
+	public boolean isMultiRowInsertPossible(final InsertStatement stmt) {
+		if (stmt.getValues().isEmpty()) {
+			return false;
+		}
+		for (final ColumnExpression value : stmt.getValues().values()) {
+			if (value instanceof SequenceColumnExpression && !((SequenceColumnExpression) value).isNext()
+					|| value instanceof IdentityColumnExpression
+							&& ((IdentityColumnExpression) value).getTable().equals(stmt.getTable())
+					|| value instanceof SubselectColumnExpression
+							&& ((SubselectColumnExpression) value).getTable().equals(stmt.getTable())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Indicates that references to sequences in {@code WHERE} expressions are supported.
 	 *
@@ -218,6 +659,16 @@ public abstract class GeneratorDialect {
 		return true;
 	}
 
+	/**
+	 * Indicates that the rows of a table can be collected in a temporary table of the session, to resolve their
+	 * references with one statement.
+	 *
+	 * @return {@code true} if {@link #appendStagingTableCreate(Appendable, String, String, String)} is supported
+	 */
+	public boolean isStagingTableSupported() {
+		return true;
+	}
+
 	/**
 	 * Quotes the given string.
 	 *
@@ -226,10 +677,31 @@ public abstract class GeneratorDialect {
 	 * @return the quoted string
 	 */
 	public String quoteString(final String value) {
+		final StringBuilder result = new StringBuilder(value.length() + 2);
+		try {
+			quoteString(value, result);
+		} catch (final IOException e) {
+			// Not thrown by a StringBuilder
+			throw new IllegalStateException(e);
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Writes the given string quoted to the given target.
+	 *
+	 * @param value
+	 *            the value to quote
+	 * @param result
+	 *            the target of the quoted string
+	 * @throws IOException
+	 *             if the target throws one
+	 */
+	public void quoteString(final String value, final Appendable result) throws IOException {
 		if (value.length() == 0) {
-			return "''";
+			result.append("''");
+			return;
 		}
-		final StringBuilder result = new StringBuilder(value.length() + 2);
 		int start = 0;
 		boolean isOpen = false;
 		for (int i = 0; i < value.length(); i++) {
@@ -241,7 +713,7 @@ public abstract class GeneratorDialect {
 					isOpen = false;
 					result.append(" || ");
 				}
-				result.append("CHR(").append((byte) c).append(')');
+				result.append("CHR(").append(String.valueOf((int) c)).append(')');
 			} else if (c == '\'') {
 				// Escape quotes
 				finishPart(result, value, start, i, isOpen, false);
@@ -253,6 +725,5 @@ public abstract class GeneratorDialect {
 			start = i + 1;
 		}
 		finishPart(result, value, start, value.length(), isOpen, true);
-		return result.toString();
 	}
 }
@@ -1,5 +1,10 @@
 package org.fastnate.generator.dialect;
 
+import java.io.IOException;
+import java.util.Collection;
+
+import com.google.common.base.Joiner;
+
 /**
  * Handles H2 specific conversions.
  *
@@ -8,9 +13,53 @@ package org.fastnate.generator.dialect;
  */
 public class H2Dialect extends GeneratorDialect {
 
+	private static final Joiner JOINER = Joiner.on(", ");
+
+	@Override
+	public void appendDisableConstraints(final Appendable result) throws IOException {
+		result.append("SET REFERENTIAL_INTEGRITY FALSE;\n");
+	}
+
+	@Override
+	public void appendEnableConstraints(final Appendable result) throws IOException {
+		result.append("SET REFERENTIAL_INTEGRITY TRUE;\n");
+	}
+
+	@Override
+	public void appendIdentityVariable(final Appendable result, final int index, final String table,
+			final String column) throws IOException {
+		result.append("SET ").append(buildIdentityVariable(index)).append(" = IDENTITY();\n");
+	}
+
+	/**
+	 * Creates a local temporary table, as temporary tables are global by default in H2.
+	 */
+	@Override
+	public void appendStagingTableCreate(final Appendable result, final String stagingTable, final String columns,
+			final String tables) throws IOException {
+		result.append("CREATE LOCAL TEMPORARY TABLE ").append(stagingTable).append(" AS SELECT ").append(columns)
+				.append(" FROM ").append(tables).append(" WHERE 1 = 0;\n");
+	}
+
+	@Override
+	public void appendTransactionStart(final Appendable result) throws IOException {
+		result.append("SET AUTOCOMMIT FALSE;\n");
+	}
+
+	@Override
+	public String buildCsvImport(final String table, final Collection<String> columns, final String file) {
+		return "INSERT INTO " + table + " (" + JOINER.join(columns) + ") SELECT * FROM CSVREAD(" + quoteString(file)
+				+ ", NULL, 'charset=UTF-8')";
+	}
+
 	@Override
 	public String createBlobExpression(final byte[] blob) {
 		return createHexBlobExpression("'", blob, "'");
 	}
 
+	@Override
+	public boolean isIdentityVariableSupported() {
+		return true;
+	}
+
 }
\ No newline at end of file
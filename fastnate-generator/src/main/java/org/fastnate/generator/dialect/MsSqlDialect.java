@@ -1,5 +1,7 @@
 package org.fastnate.generator.dialect;
 
+import java.io.IOException;
+
 /**
  * Handles MS SQL specific conversions.
  *
@@ -8,6 +10,92 @@ package org.fastnate.generator.dialect;
  */
 public final class MsSqlDialect extends GeneratorDialect {
 
-	// No special support up to now
+	/** The maximum count of rows in a table value constructor, as defined by MS SQL. */
+	private static final int MAX_INSERT_ROWS = 1000;
+
+	/**
+	 * Commits the transaction and ends the batch of statements, as required by sqlcmd.
+	 */
+	@Override
+	public void appendCommit(final Appendable result) throws IOException {
+		result.append("COMMIT TRANSACTION;\nGO\n");
+	}
+
+	/**
+	 * Disables the checks of the foreign keys and check constraints of the table.
+	 */
+	@Override
+	public void appendDisableConstraints(final Appendable result, final String table) throws IOException {
+		result.append("ALTER TABLE ").append(table).append(" NOCHECK CONSTRAINT ALL;\n");
+	}
+
+	/**
+	 * Enables the checks of the foreign keys and check constraints of the table again and validates the existing rows,
+	 * to keep the constraints trusted by the query optimizer.
+	 */
+	@Override
+	public void appendEnableConstraints(final Appendable result, final String table) throws IOException {
+		result.append("ALTER TABLE ").append(table).append(" WITH CHECK CHECK CONSTRAINT ALL;\n");
+	}
+
+	/**
+	 * Reseeds the identity of the table, the next row gets the following value.
+	 */
+	@Override
+	public void appendIdentityRestart(final Appendable result, final String table, final String column,
+			final long nextValue) throws IOException {
+		result.append("DBCC CHECKIDENT ('").append(table).append("', RESEED, ").append(String.valueOf(nextValue - 1))
+				.append(");\n");
+	}
+
+	/**
+	 * Stores the identity in the context of the session, as local variables are lost at the end of each batch.
+	 *
+	 * The identity is read with {@code @@IDENTITY} in a nested batch, as the declared variable would collide with the
+	 * variable of the next statement otherwise. In contrast to {@code SCOPE_IDENTITY()}, this finds the identity of
+	 * the last insert in the session even in the nested batch, but includes the inserts of triggers as well.
+	 */
+	@Override
+	public void appendIdentityVariable(final Appendable result, final int index, final String table,
+			final String column) throws IOException {
+		result.append("EXEC sp_executesql N'DECLARE @id NUMERIC(38) = @@IDENTITY; ")
+				.append("EXEC sp_set_session_context N''fastnate_id_").append(String.valueOf(index))
+				.append("'', @id;';\n");
+	}
+
+	/**
+	 * Creates a local temporary table with {@code SELECT INTO}, which survives the end of a batch.
+	 */
+	@Override
+	public void appendStagingTableCreate(final Appendable result, final String stagingTable, final String columns,
+			final String tables) throws IOException {
+		result.append("SELECT ").append(columns).append(" INTO ").append(stagingTable).append(" FROM ").append(tables)
+				.append(" WHERE 1 = 0;\n");
+	}
+
+	@Override
+	public void appendTransactionStart(final Appendable result) throws IOException {
+		result.append("BEGIN TRANSACTION;\n");
+	}
+
+	@Override
+	public String buildIdentityVariable(final int index) {
+		return "CAST(SESSION_CONTEXT(N'fastnate_id_" + index + "') AS bigint)";
+	}
+
+	@Override
+	public String buildStagingTable(final String table) {
+		return '#' + super.buildStagingTable(table);
+	}
+
+	@Override
+	public int getMaxInsertRows() {
+		return MAX_INSERT_ROWS;
+	}
+
+	@Override
+	public boolean isIdentityVariableSupported() {
+		return true;
+	}
 
 }
\ No newline at end of file
@@ -1,12 +1,13 @@
 package org.fastnate.generator.dialect;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
+import org.fastnate.generator.statements.ColumnExpression;
 import org.fastnate.generator.statements.EntityStatement;
+import org.fastnate.generator.statements.IdentityColumnExpression;
 import org.fastnate.generator.statements.InsertStatement;
 
 import com.google.common.base.Joiner;
@@ -43,63 +44,128 @@ public final class MySqlDialect extends GeneratorDialect {
 		ESCAPES['\\'] = "\\\\";
 	}
 
+	private static boolean isSelfReference(final ColumnExpression value, final String table) {
+		return value instanceof IdentityColumnExpression && ((IdentityColumnExpression) value).getTable().equals(table);
+	}
+
 	/**
-	 * Replace any subselect in an insert statement, if the same table is selected.
+	 * Disables the checks of foreign keys and the checks of unique secondary indices of the session.
 	 */
 	@Override
-	public String createSql(final EntityStatement stmt) {
-		if (!(stmt instanceof InsertStatement)) {
-			return stmt.toString();
-		}
-		final Map<String, String> values = stmt.getValues();
-		if (values.isEmpty()) {
-			return stmt.toString();
-		}
-		final Pattern subselectPattern = Pattern.compile("\\(SELECT\\s+(.*)\\s+FROM\\s+" + stmt.getTable() + "\\s*\\)",
-				Pattern.CASE_INSENSITIVE);
-		if (!subselectPattern.matcher(values.values().toString()).find()) {
-			return stmt.toString();
-		}
+	public void appendDisableConstraints(final Appendable result) throws IOException {
+		result.append("SET FOREIGN_KEY_CHECKS = 0;\nSET UNIQUE_CHECKS = 0;\n");
+	}
 
-		final StringBuilder result = new StringBuilder("INSERT INTO ").append(stmt.getTable());
-		result.append(" (");
-		// Create MySQL compatible INSERTs
-		JOINER.appendTo(result, values.keySet()).append(") SELECT ");
-		final List<String> rewrite = new ArrayList<>();
-		for (final String value : values.values()) {
-			final Matcher matcher = subselectPattern.matcher(value);
-			if (matcher.matches()) {
-				rewrite.add(matcher.group(1));
-			} else {
-				rewrite.add(value);
+	@Override
+	public void appendEnableConstraints(final Appendable result) throws IOException {
+		result.append("SET UNIQUE_CHECKS = 1;\nSET FOREIGN_KEY_CHECKS = 1;\n");
+	}
+
+	@Override
+	public void appendIdentityRestart(final Appendable result, final String table, final String column,
+			final long nextValue) throws IOException {
+		result.append("ALTER TABLE ").append(table).append(" AUTO_INCREMENT = ").append(String.valueOf(nextValue))
+				.append(";\n");
+	}
+
+	@Override
+	public void appendIdentityVariable(final Appendable result, final int index, final String table,
+			final String column) throws IOException {
+		result.append("SET ").append(buildIdentityVariable(index)).append(" = LAST_INSERT_ID();\n");
+	}
+
+	/**
+	 * Replace any subselect in an insert statement, if the same table is selected.
+	 */
+	@Override
+	public void appendSql(final EntityStatement stmt, final Appendable result) throws IOException {
+		if (stmt instanceof InsertStatement) {
+			final Map<String, ColumnExpression> values = stmt.getValues();
+			for (final ColumnExpression value : values.values()) {
+				if (isSelfReference(value, stmt.getTable())) {
+					// Create MySQL compatible INSERTs
+					result.append("INSERT INTO ").append(stmt.getTable()).append(" (");
+					JOINER.appendTo(result, values.keySet()).append(") SELECT ");
+					for (final Iterator<ColumnExpression> iterator = values.values().iterator(); iterator.hasNext();) {
+						final ColumnExpression columnValue = iterator.next();
+						if (isSelfReference(columnValue, stmt.getTable())) {
+							result.append(((IdentityColumnExpression) columnValue).getSelection());
+						} else {
+							columnValue.appendSql(this, result);
+						}
+						if (iterator.hasNext()) {
+							result.append(", ");
+						}
+					}
+					result.append(" FROM ").append(stmt.getTable()).append(";\n");
+					return;
+				}
 			}
 		}
-		JOINER.appendTo(result, rewrite).append(" FROM ").append(stmt.getTable()).append(";\n");
-		return result.toString();
+		super.appendSql(stmt, result);
+	}
+
+	/**
+	 * Drops the temporary table, without the implicit commit of {@code DROP TABLE}.
+	 */
+	@Override
+	public void appendStagingTableDrop(final Appendable result, final String stagingTable) throws IOException {
+		result.append("DROP TEMPORARY TABLE ").append(stagingTable).append(";\n");
+	}
+
+	/**
+	 * Disables the auto commit mode, the next transaction starts implicitly after every commit.
+	 */
+	@Override
+	public void appendTransactionStart(final Appendable result) throws IOException {
+		result.append("SET autocommit = 0;\n");
+	}
+
+	@Override
+	public String buildCsvImport(final String table, final Collection<String> columns, final String file) {
+		return "LOAD DATA INFILE " + quoteString(file) + " INTO TABLE " + table
+				+ " CHARACTER SET utf8 FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' ESCAPED BY ''"
+				+ " LINES TERMINATED BY '\\n' IGNORE 1 LINES (" + JOINER.join(columns) + ')';
+	}
+
+	/**
+	 * Unquoted {@code NULL}, as we don't use an escape character.
+	 */
+	@Override
+	public String getCsvNullValue() {
+		return "NULL";
+	}
+
+	@Override
+	public boolean isIdentityVariableSupported() {
+		return true;
 	}
 
 	/**
 	 * Create MySQL specific quoting of the string.
 	 */
 	@Override
-	public String quoteString(final String value) {
+	public void quoteString(final String value, final Appendable result) throws IOException {
 		if (value.length() == 0) {
-			return "''";
+			result.append("''");
+			return;
 		}
-		final StringBuilder result = new StringBuilder(value.length() + 2).append('\'');
+		result.append('\'');
+		int start = 0;
 		for (int i = 0; i < value.length(); i++) {
 			final char c = value.charAt(i);
 			if (c <= MAX_ESCAPE) {
 				final String escape = ESCAPES[c];
 				if (escape != null) {
 					// Unprintable character, especially newlines
+					append(result, value, start, i);
 					result.append(escape);
-					continue;
+					start = i + 1;
 				}
 			}
-			result.append(c);
 		}
-		return result.append('\'').toString();
+		append(result, value, start, value.length());
+		result.append('\'');
 	}
 
-}
\ No newline at end of file
+}
@@ -1,9 +1,18 @@
 package org.fastnate.generator.dialect;
 
+import java.io.IOException;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 
 import javax.persistence.TemporalType;
 
+import org.fastnate.generator.statements.ColumnExpression;
+import org.fastnate.generator.statements.InsertStatement;
+import org.fastnate.generator.statements.SequenceColumnExpression;
+
+import com.google.common.base.Joiner;
+
 /**
  * Handles Oracle specific conversions.
  *
@@ -14,6 +23,8 @@ public final class OracleDialect extends GeneratorDialect {
 
 	private static final int MAX_VARCHAR_LENGTH = 2000;
 
+	private static final Joiner JOINER = Joiner.on(", ");
+
 	@Override
 	public String buildCurrentSequenceValue(final String sequence) {
 		return sequence + ".currval";
@@ -40,6 +51,34 @@ public final class OracleDialect extends GeneratorDialect {
 		}
 	}
 
+	/**
+	 * Restarts the sequence with the syntax of Oracle 18c and later.
+	 */
+	@Override
+	public void appendSequenceRestart(final Appendable result, final String sequence, final long nextValue)
+			throws IOException {
+		result.append("ALTER SEQUENCE ").append(sequence).append(" RESTART START WITH ")
+				.append(String.valueOf(nextValue)).append(";\n");
+	}
+
+	/**
+	 * Oracle doesn't know multi-row inserts, so we use {@code INSERT ALL}.
+	 */
+	@Override
+	public void appendSql(final List<? extends InsertStatement> stmts, final Appendable result) throws IOException {
+		if (stmts.size() == 1) {
+			appendSql(stmts.get(0), result);
+			return;
+		}
+		final Collection<String> columns = stmts.get(0).getValues().keySet();
+		result.append("INSERT ALL");
+		for (final InsertStatement stmt : stmts) {
+			JOINER.appendTo(result.append(" INTO ").append(stmt.getTable()).append(" ("), columns).append(") VALUES ");
+			appendValues(result, stmt, columns);
+		}
+		result.append(" SELECT * FROM dual;\n");
+	}
+
 	@Override
 	public String createBlobExpression(final byte[] blob) {
 		return createHexBlobExpression("hextoraw('", blob, "')");
@@ -55,26 +94,49 @@ public final class OracleDialect extends GeneratorDialect {
 		return false;
 	}
 
+	/**
+	 * The next value of a sequence is only created once per {@code INSERT ALL}, so we can't combine such inserts.
+	 */
+	@Override
+	public boolean isMultiRowInsertPossible(final InsertStatement stmt) {
+		if (!super.isMultiRowInsertPossible(stmt)) {
+			return false;
+		}
+		for (final ColumnExpression value : stmt.getValues().values()) {
+			if (value instanceof SequenceColumnExpression) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	@Override
 	public boolean isSequenceInWhereSupported() {
 		return false;
 	}
 
+	/**
+	 * Temporary tables in Oracle are created once and not per session.
+	 */
+	@Override
+	public boolean isStagingTableSupported() {
+		return false;
+	}
+
 	@Override
-	public String quoteString(final String value) {
+	public void quoteString(final String value, final Appendable result) throws IOException {
 		if (value.length() > MAX_VARCHAR_LENGTH) {
 			// If our string is to long, we use "TO_CLOB" to ensure that the content fits
-			final StringBuilder result = new StringBuilder();
 			for (int i = 0; i < value.length(); i += MAX_VARCHAR_LENGTH) {
 				if (i > 0) {
 					result.append(" || ");
 				}
-				result.append("TO_CLOB(")
-						.append(super.quoteString(value.substring(i, Math.min(value.length(), i + MAX_VARCHAR_LENGTH))))
-						.append(')');
+				result.append("TO_CLOB(");
+				super.quoteString(value.substring(i, Math.min(value.length(), i + MAX_VARCHAR_LENGTH)), result);
+				result.append(')');
 			}
-			return result.toString();
+		} else {
+			super.quoteString(value, result);
 		}
-		return super.quoteString(value);
 	}
 }
\ No newline at end of file
@@ -1,5 +1,10 @@
 package org.fastnate.generator.dialect;
 
+import java.io.IOException;
+import java.util.Collection;
+
+import com.google.common.base.Joiner;
+
 /**
  * Handles PostgreSQL specific conversions.
  *
@@ -7,6 +12,40 @@ package org.fastnate.generator.dialect;
  */
 public final class PostgresDialect extends GeneratorDialect {
 
+	private static final Joiner JOINER = Joiner.on(", ");
+
+	/**
+	 * Disables all triggers of the session, including the triggers that check foreign keys. Requires the privileges of
+	 * a superuser.
+	 */
+	@Override
+	public void appendDisableConstraints(final Appendable result) throws IOException {
+		result.append("SET session_replication_role = replica;\n");
+	}
+
+	@Override
+	public void appendEnableConstraints(final Appendable result) throws IOException {
+		result.append("SET session_replication_role = DEFAULT;\n");
+	}
+
+	@Override
+	public void appendSequenceRestart(final Appendable result, final String sequence, final long nextValue)
+			throws IOException {
+		result.append("SELECT setval('").append(sequence).append("', ").append(String.valueOf(nextValue))
+				.append(", false);\n");
+	}
+
+	@Override
+	public void appendTransactionStart(final Appendable result) throws IOException {
+		result.append("BEGIN;\n");
+	}
+
+	@Override
+	public String buildCsvImport(final String table, final Collection<String> columns, final String file) {
+		return "COPY " + table + " (" + JOINER.join(columns) + ") FROM " + quoteString(file)
+				+ " WITH (FORMAT csv, HEADER, ENCODING 'UTF8')";
+	}
+
 	@Override
 	public String convertBooleanValue(final boolean value) {
 		return value ? "true" : "false";
@@ -2,7 +2,10 @@ package org.fastnate.generator.provider;
 
 import java.util.Properties;
 
+import javax.persistence.SequenceGenerator;
+
 import org.fastnate.generator.context.GeneratorContext;
+import org.fastnate.generator.context.SequenceOptimizer;
 import org.fastnate.generator.dialect.GeneratorDialect;
 import org.fastnate.generator.dialect.H2Dialect;
 import org.fastnate.generator.dialect.MsSqlDialect;
@@ -18,6 +21,15 @@ import org.hibernate.cfg.AvailableSettings;
  */
 public class HibernateProvider implements JpaProvider {
 
+	/**
+	 * Indicates that the generators of JPA are mapped to the enhanced generators of Hibernate, otherwise the legacy
+	 * hi/lo algorithm is used for sequences.
+	 */
+	private boolean newGeneratorMappings = true;
+
+	/** The optimizer of the enhanced generators, for sequences with an allocation size greater than one. */
+	private SequenceOptimizer pooledOptimizer = SequenceOptimizer.POOLED;
+
 	private static Class<? extends GeneratorDialect> getGeneratorDialectFromConnectionDriver(
 			final Properties settings) {
 		final String connectionDriver = settings.getProperty(AvailableSettings.DRIVER);
@@ -86,13 +98,47 @@ public class HibernateProvider implements JpaProvider {
 		return null;
 	}
 
+	private static SequenceOptimizer getPooledOptimizer(final Properties settings) {
+		final String optimizer = settings.getProperty(AvailableSettings.PREFERRED_POOLED_OPTIMIZER);
+		if (optimizer == null) {
+			return Boolean.parseBoolean(settings.getProperty(AvailableSettings.PREFER_POOLED_VALUES_LO))
+					? SequenceOptimizer.POOLED_LO : SequenceOptimizer.POOLED;
+		}
+		switch (optimizer) {
+		case "none":
+			return SequenceOptimizer.NONE;
+		case "hilo":
+			return SequenceOptimizer.HILO;
+		case "legacy-hilo":
+			return SequenceOptimizer.LEGACY_HILO;
+		case "pooled":
+			return SequenceOptimizer.POOLED;
+		case "pooled-lo":
+		case "pooled-lotl":
+			return SequenceOptimizer.POOLED_LO;
+		default:
+			throw new IllegalArgumentException("Unsupported optimizer: " + optimizer);
+		}
+	}
+
 	@Override
 	public String getDefaultSequence() {
 		return "hibernate_sequence";
 	}
 
+	@Override
+	public SequenceOptimizer getSequenceOptimizer(final SequenceGenerator generator) {
+		if (generator.allocationSize() <= 1) {
+			return SequenceOptimizer.NONE;
+		}
+		return this.newGeneratorMappings ? this.pooledOptimizer : SequenceOptimizer.LEGACY_HILO;
+	}
+
 	@Override
 	public void initialize(final Properties settings) {
+		this.newGeneratorMappings = Boolean.parseBoolean(settings.getProperty(
+				AvailableSettings.USE_NEW_ID_GENERATOR_MAPPINGS, String.valueOf(this.newGeneratorMappings)));
+		this.pooledOptimizer = getPooledOptimizer(settings);
 		if (!settings.contains(GeneratorContext.DIALECT_KEY)) {
 			// Try to determine the dialect dynamically
 			Class<? extends GeneratorDialect> dialect = getGeneratorDialectFromHibernateDialect(settings);
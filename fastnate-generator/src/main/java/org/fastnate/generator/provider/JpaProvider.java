@@ -2,6 +2,10 @@ package org.fastnate.generator.provider;
 
 import java.util.Properties;
 
+import javax.persistence.SequenceGenerator;
+
+import org.fastnate.generator.context.SequenceOptimizer;
+
 /**
  * Encapsulates details specific to the current JPA implementation.
  *
@@ -16,6 +20,19 @@ public interface JpaProvider {
 	 */
 	String getDefaultSequence();
 
+	/**
+	 * Finds the optimizer that derives the IDs from the values of a sequence.
+	 *
+	 * The default implementation uses every value of a sequence as ID.
+	 *
+	 * @param generator
+	 *            the generator of the current column
+	 * @return the optimizer for the values of the generator
+	 */
+	default SequenceOptimizer getSequenceOptimizer(final SequenceGenerator generator) {
+		return SequenceOptimizer.NONE;
+	}
+
 	/**
 	 * Initializes this provider from the given settings.
 	 *
@@ -0,0 +1,34 @@
+package org.fastnate.generator.statements;
+
+import java.io.IOException;
+
+import org.fastnate.generator.dialect.GeneratorDialect;
+
+/**
+ * A binary literal, usually for a BLOB.
+ *
+ * @author Tobias Liefke
+ */
+public class BinaryColumnExpression extends PrimitiveColumnExpression<byte[]> {
+
+	/**
+	 * Creates a new instance of {@link BinaryColumnExpression}.
+	 *
+	 * @param value
+	 *            the value of the column
+	 */
+	public BinaryColumnExpression(final byte[] value) {
+		super(value);
+	}
+
+	@Override
+	public void appendSql(final GeneratorDialect dialect, final Appendable result) throws IOException {
+		result.append(dialect.createBlobExpression(getValue()));
+	}
+
+	@Override
+	public String toString() {
+		return "<" + getValue().length + " bytes>";
+	}
+
+}
@@ -0,0 +1,29 @@
+package org.fastnate.generator.statements;
+
+import java.io.IOException;
+
+import org.fastnate.generator.dialect.GeneratorDialect;
+
+/**
+ * A boolean literal.
+ *
+ * @author Tobias Liefke
+ */
+public class BooleanColumnExpression extends PrimitiveColumnExpression<Boolean> {
+
+	/**
+	 * Creates a new instance of {@link BooleanColumnExpression}.
+	 *
+	 * @param value
+	 *            the value of the column
+	 */
+	public BooleanColumnExpression(final boolean value) {
+		super(value);
+	}
+
+	@Override
+	public void appendSql(final GeneratorDialect dialect, final Appendable result) throws IOException {
+		result.append(dialect.convertBooleanValue(getValue()));
+	}
+
+}
@@ -0,0 +1,47 @@
+package org.fastnate.generator.statements;
+
+import java.io.IOException;
+
+import org.fastnate.generator.dialect.GeneratorDialect;
+
+/**
+ * The value of a column in an {@link EntityStatement}.
+ *
+ * The value is kept in its typed form until the statement is written. That way the target of the statement decides how
+ * to render the value - as SQL literal of a specific dialect or as parameter of a prepared statement.
+ *
+ * @author Tobias Liefke
+ */
+public interface ColumnExpression {
+
+	/**
+	 * Writes the SQL for this expression to the given target.
+	 *
+	 * @param dialect
+	 *            the dialect of the target database
+	 * @param result
+	 *            the target of the SQL expression (that is including surrounding ' for string literals)
+	 * @throws IOException
+	 *             if the target throws one
+	 */
+	void appendSql(final GeneratorDialect dialect, final Appendable result) throws IOException;
+
+	/**
+	 * Creates the SQL for this expression.
+	 *
+	 * @param dialect
+	 *            the dialect of the target database
+	 * @return the SQL expression (that is including surrounding ' for string literals)
+	 */
+	default String toSql(final GeneratorDialect dialect) {
+		final StringBuilder result = new StringBuilder();
+		try {
+			appendSql(dialect, result);
+		} catch (final IOException e) {
+			// Not thrown by a StringBuilder
+			throw new IllegalStateException(e);
+		}
+		return result.toString();
+	}
+
+}
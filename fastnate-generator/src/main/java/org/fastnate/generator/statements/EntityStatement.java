@@ -1,5 +1,6 @@
 package org.fastnate.generator.statements;
 
+import java.io.IOException;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -7,6 +8,7 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
 import org.fastnate.generator.EntitySqlGenerator;
+import org.fastnate.generator.dialect.GeneratorDialect;
 
 /**
  * Base class for statements generated by an {@link EntitySqlGenerator}.
@@ -21,7 +23,7 @@ public abstract class EntityStatement {
 	private final String table;
 
 	/** The columns and their values. */
-	private final Map<String, String> values = new LinkedHashMap<>();
+	private final Map<String, ColumnExpression> values = new LinkedHashMap<>();
 
 	/**
 	 * Adds a value to the list of value expressions.
@@ -29,10 +31,40 @@ public abstract class EntityStatement {
 	 * @param column
 	 *            the column name
 	 * @param value
-	 *            the expression value (as expression, that is including surrounding ' for string literals)
+	 *            the expression of the value
 	 */
-	public void addValue(final String column, final String value) {
+	public void addValue(final String column, final ColumnExpression value) {
 		this.values.put(column, value);
 	}
 
+	/**
+	 * Writes the SQL for this statement to the given target.
+	 *
+	 * @param dialect
+	 *            the dialect of the target database
+	 * @param result
+	 *            the target of the SQL
+	 * @throws IOException
+	 *             if the target throws one
+	 */
+	public abstract void appendSql(final GeneratorDialect dialect, final Appendable result) throws IOException;
+
+	/**
+	 * Creates the SQL for this statement.
+	 *
+	 * @param dialect
+	 *            the dialect of the target database
+	 * @return the resulting SQL
+	 */
+	public String toSql(final GeneratorDialect dialect) {
+		final StringBuilder result = new StringBuilder();
+		try {
+			appendSql(dialect, result);
+		} catch (final IOException e) {
+			// Not thrown by a StringBuilder
+			throw new IllegalStateException(e);
+		}
+		return result.toString();
+	}
+
 }
@@ -0,0 +1,47 @@
+package org.fastnate.generator.statements;
+
+import java.io.IOException;
+
+import org.fastnate.generator.dialect.GeneratorDialect;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * References a value of an identity column, relative to the current maximum of that column.
+ *
+ * @author Tobias Liefke
+ */
+@Getter
+@RequiredArgsConstructor
+public class IdentityColumnExpression implements ColumnExpression {
+
+	/** The table of the identity column. */
+	private final String table;
+
+	/** The identity column. */
+	private final String column;
+
+	/** The difference to subtract from the current maximum. */
+	private final long difference;
+
+	/**
+	 * Creates the SQL for the selected value - without the {@code SELECT} and {@code FROM} parts.
+	 *
+	 * @return the aggregate expression
+	 */
+	public String getSelection() {
+		return "max(" + this.column + ")" + (this.difference == 0 ? "" : " - " + this.difference);
+	}
+
+	@Override
+	public void appendSql(final GeneratorDialect dialect, final Appendable result) throws IOException {
+		result.append("(SELECT max(").append(this.column).append(')');
+		if (this.difference != 0) {
+			result.append(" - ");
+			NumberColumnExpression.appendLong(this.difference, result);
+		}
+		result.append(" FROM ").append(this.table).append(')');
+	}
+
+}
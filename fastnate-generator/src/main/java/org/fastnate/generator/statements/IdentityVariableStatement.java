@@ -0,0 +1,44 @@
+package org.fastnate.generator.statements;
+
+import java.io.IOException;
+
+import org.fastnate.generator.dialect.GeneratorDialect;
+
+import lombok.Getter;
+
+/**
+ * Stores the value of an identity column, that was generated by the last insert, in a variable of the session.
+ *
+ * @author Tobias Liefke
+ */
+@Getter
+public class IdentityVariableStatement extends EntityStatement {
+
+	/** The identity column. */
+	private final String column;
+
+	/** The index of the variable. */
+	private final int index;
+
+	/**
+	 * Creates a new instance of IdentityVariableStatement.
+	 *
+	 * @param table
+	 *            the table of the identity column
+	 * @param column
+	 *            the identity column
+	 * @param index
+	 *            the index of the variable
+	 */
+	public IdentityVariableStatement(final String table, final String column, final int index) {
+		super(table);
+		this.column = column;
+		this.index = index;
+	}
+
+	@Override
+	public void appendSql(final GeneratorDialect dialect, final Appendable result) throws IOException {
+		dialect.appendIdentityVariable(result, this.index, getTable(), this.column);
+	}
+
+}
@@ -1,5 +1,10 @@
 package org.fastnate.generator.statements;
 
+import java.io.IOException;
+import java.util.Iterator;
+
+import org.fastnate.generator.dialect.GeneratorDialect;
+
 import lombok.Getter;
 
 import com.google.common.base.Joiner;
@@ -24,21 +29,21 @@ public class InsertStatement extends EntityStatement {
 		super(table);
 	}
 
-	/**
-	 * Creates the SQL for this statement.
-	 *
-	 * @return the resulting SQL
-	 */
 	@Override
-	public String toString() {
-		final StringBuilder result = new StringBuilder("INSERT INTO ").append(getTable());
+	public void appendSql(final GeneratorDialect dialect, final Appendable result) throws IOException {
+		result.append("INSERT INTO ").append(getTable());
 		if (getValues().isEmpty()) {
 			// Can happen if we have an generated identity column and only null values
 			result.append(" DEFAULT VALUES;\n");
 		} else {
 			JOINER.appendTo(result.append(' ').append('('), getValues().keySet()).append(") VALUES (");
-			JOINER.appendTo(result, getValues().values()).append(");\n");
+			for (final Iterator<ColumnExpression> values = getValues().values().iterator(); values.hasNext();) {
+				values.next().appendSql(dialect, result);
+				if (values.hasNext()) {
+					result.append(", ");
+				}
+			}
+			result.append(");\n");
 		}
-		return result.toString();
 	}
 }
@@ -0,0 +1,62 @@
+package org.fastnate.generator.statements;
+
+import java.io.IOException;
+
+import org.fastnate.generator.dialect.GeneratorDialect;
+
+/**
+ * A numeric literal.
+ *
+ * @author Tobias Liefke
+ */
+public class NumberColumnExpression extends PrimitiveColumnExpression<Number> {
+
+	private static final int DECIMAL_BASE = 10;
+
+	/**
+	 * Writes the decimal digits of the given number to the given target, without creating a string.
+	 *
+	 * @param value
+	 *            the number to write
+	 * @param result
+	 *            the target
+	 * @throws IOException
+	 *             if the target throws one
+	 */
+	static void appendLong(final long value, final Appendable result) throws IOException {
+		if (value < 0) {
+			if (value == Long.MIN_VALUE) {
+				result.append(String.valueOf(value));
+				return;
+			}
+			result.append('-');
+			appendLong(-value, result);
+			return;
+		}
+		if (value >= DECIMAL_BASE) {
+			appendLong(value / DECIMAL_BASE, result);
+		}
+		result.append((char) ('0' + value % DECIMAL_BASE));
+	}
+
+	/**
+	 * Creates a new instance of {@link NumberColumnExpression}.
+	 *
+	 * @param value
+	 *            the value of the column
+	 */
+	public NumberColumnExpression(final Number value) {
+		super(value);
+	}
+
+	@Override
+	public void appendSql(final GeneratorDialect dialect, final Appendable result) throws IOException {
+		final Number value = getValue();
+		if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+			appendLong(value.longValue(), result);
+		} else {
+			result.append(String.valueOf(value));
+		}
+	}
+
+}
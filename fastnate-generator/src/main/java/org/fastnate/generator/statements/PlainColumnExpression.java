@@ -0,0 +1,35 @@
+package org.fastnate.generator.statements;
+
+import java.io.IOException;
+
+import org.fastnate.generator.dialect.GeneratorDialect;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * An SQL expression that is used "as is", for example from a {@link org.fastnate.generator.DefaultValue}.
+ *
+ * @author Tobias Liefke
+ */
+@Getter
+@RequiredArgsConstructor
+public class PlainColumnExpression implements ColumnExpression {
+
+	/** The expression for {@code null}. */
+	public static final PlainColumnExpression NULL = new PlainColumnExpression("null");
+
+	/** The SQL expression. */
+	private final String expression;
+
+	@Override
+	public void appendSql(final GeneratorDialect dialect, final Appendable result) throws IOException {
+		result.append(this.expression);
+	}
+
+	@Override
+	public String toString() {
+		return this.expression;
+	}
+
+}
@@ -0,0 +1,25 @@
+package org.fastnate.generator.statements;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Base class for all expressions that contain a literal value.
+ *
+ * @author Tobias Liefke
+ * @param <T>
+ *            the type of the value
+ */
+@Getter
+@RequiredArgsConstructor
+public abstract class PrimitiveColumnExpression<T> implements ColumnExpression {
+
+	/** The value of the column, never {@code null}. */
+	private final T value;
+
+	@Override
+	public String toString() {
+		return String.valueOf(this.value);
+	}
+
+}
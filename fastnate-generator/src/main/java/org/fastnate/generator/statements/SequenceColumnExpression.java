@@ -0,0 +1,48 @@
+package org.fastnate.generator.statements;
+
+import java.io.IOException;
+
+import org.fastnate.generator.dialect.GeneratorDialect;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * References the next or the current value of a sequence.
+ *
+ * @author Tobias Liefke
+ */
+@Getter
+@RequiredArgsConstructor
+public class SequenceColumnExpression implements ColumnExpression {
+
+	/** The name of the sequence. */
+	private final String sequence;
+
+	/** Indicates to create the next value of the sequence, otherwise the current value is referenced. */
+	private final boolean next;
+
+	/**
+	 * The difference to subtract from the current value of the sequence, negative for IDs that follow the current
+	 * value in the same block.
+	 */
+	private final long difference;
+
+	@Override
+	public void appendSql(final GeneratorDialect dialect, final Appendable result) throws IOException {
+		if (this.next) {
+			result.append(dialect.buildNextSequenceValue(this.sequence));
+		} else if (this.difference == 0) {
+			result.append(dialect.buildCurrentSequenceValue(this.sequence));
+		} else if (this.difference < 0) {
+			result.append('(').append(dialect.buildCurrentSequenceValue(this.sequence)).append(" + ");
+			NumberColumnExpression.appendLong(-this.difference, result);
+			result.append(')');
+		} else {
+			result.append('(').append(dialect.buildCurrentSequenceValue(this.sequence)).append(" - ");
+			NumberColumnExpression.appendLong(this.difference, result);
+			result.append(')');
+		}
+	}
+
+}
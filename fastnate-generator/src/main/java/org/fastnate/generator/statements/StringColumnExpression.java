@@ -0,0 +1,29 @@
+package org.fastnate.generator.statements;
+
+import java.io.IOException;
+
+import org.fastnate.generator.dialect.GeneratorDialect;
+
+/**
+ * A string literal.
+ *
+ * @author Tobias Liefke
+ */
+public class StringColumnExpression extends PrimitiveColumnExpression<String> {
+
+	/**
+	 * Creates a new instance of {@link StringColumnExpression}.
+	 *
+	 * @param value
+	 *            the (unquoted) value of the column
+	 */
+	public StringColumnExpression(final String value) {
+		super(value);
+	}
+
+	@Override
+	public void appendSql(final GeneratorDialect dialect, final Appendable result) throws IOException {
+		dialect.quoteString(getValue(), result);
+	}
+
+}
@@ -0,0 +1,35 @@
+package org.fastnate.generator.statements;
+
+import java.io.IOException;
+
+import org.fastnate.generator.dialect.GeneratorDialect;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Selects the value of a column from a row that is found by a condition, usually to reference an entity by its unique
+ * properties.
+ *
+ * @author Tobias Liefke
+ */
+@Getter
+@RequiredArgsConstructor
+public class SubselectColumnExpression implements ColumnExpression {
+
+	/** The table to select from. */
+	private final String table;
+
+	/** The selected column. */
+	private final String column;
+
+	/** The SQL condition that identifies the row. */
+	private final String condition;
+
+	@Override
+	public void appendSql(final GeneratorDialect dialect, final Appendable result) throws IOException {
+		result.append("(SELECT ").append(this.column).append(" FROM ").append(this.table).append(" WHERE ")
+				.append(this.condition).append(')');
+	}
+
+}
@@ -0,0 +1,41 @@
+package org.fastnate.generator.statements;
+
+import java.io.IOException;
+import java.util.Date;
+
+import javax.persistence.TemporalType;
+
+import org.fastnate.generator.dialect.GeneratorDialect;
+
+import lombok.Getter;
+
+/**
+ * A date, time or timestamp literal.
+ *
+ * @author Tobias Liefke
+ */
+@Getter
+public class TemporalColumnExpression extends PrimitiveColumnExpression<Date> {
+
+	/** The type of the column. */
+	private final TemporalType type;
+
+	/**
+	 * Creates a new instance of {@link TemporalColumnExpression}.
+	 *
+	 * @param value
+	 *            the value of the column, {@link GeneratorDialect#NOW} for the current timestamp of the database
+	 * @param type
+	 *            the type of the column
+	 */
+	public TemporalColumnExpression(final Date value, final TemporalType type) {
+		super(value);
+		this.type = type;
+	}
+
+	@Override
+	public void appendSql(final GeneratorDialect dialect, final Appendable result) throws IOException {
+		dialect.appendTemporalValue(getValue(), this.type, result);
+	}
+
+}
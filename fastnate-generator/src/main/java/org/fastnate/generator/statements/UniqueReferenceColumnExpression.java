@@ -0,0 +1,39 @@
+package org.fastnate.generator.statements;
+
+import java.util.Map;
+
+import lombok.Getter;
+
+/**
+ * Selects the ID of an entity by the values of its unique properties.
+ *
+ * In addition to the rendered condition, the values of the unique columns are available as {@link #keys}. That way the
+ * reference can be resolved for many rows at once, for example by joining a staging table with the referenced table.
+ *
+ * @author Tobias Liefke
+ */
+@Getter
+public class UniqueReferenceColumnExpression extends SubselectColumnExpression {
+
+	/** The values of the unique columns (and of the discriminator column), mapped by the name of the column. */
+	private final Map<String, ColumnExpression> keys;
+
+	/**
+	 * Creates a new instance of UniqueReferenceColumnExpression.
+	 *
+	 * @param table
+	 *            the table of the referenced entity
+	 * @param column
+	 *            the ID column of the referenced entity
+	 * @param condition
+	 *            the SQL condition that identifies the row
+	 * @param keys
+	 *            the values of the unique columns that are used in the condition
+	 */
+	public UniqueReferenceColumnExpression(final String table, final String column, final String condition,
+			final Map<String, ColumnExpression> keys) {
+		super(table, column, condition);
+		this.keys = keys;
+	}
+
+}
@@ -1,9 +1,11 @@
 package org.fastnate.generator.statements;
 
+import java.io.IOException;
 import java.util.Iterator;
-import java.util.Map;
 import java.util.Map.Entry;
 
+import org.fastnate.generator.dialect.GeneratorDialect;
+
 import lombok.Getter;
 import lombok.Setter;
 
@@ -18,7 +20,7 @@ public class UpdateStatement extends EntityStatement {
 
 	private final String idColumn;
 
-	private final String idValue;
+	private final ColumnExpression idValue;
 
 	/**
 	 * Creates a new instance of UpdateStatement.
@@ -30,28 +32,26 @@ public class UpdateStatement extends EntityStatement {
 	 * @param idValue
 	 *            the id of the changed entity
 	 */
-	public UpdateStatement(final String table, final String idColumn, final String idValue) {
+	public UpdateStatement(final String table, final String idColumn, final ColumnExpression idValue) {
 		super(table);
 		this.idColumn = idColumn;
 		this.idValue = idValue;
 	}
 
-	/**
-	 * Creates the SQL for this statement.
-	 * 
-	 * @return the resulting SQL
-	 */
 	@Override
-	public String toString() {
-		final StringBuilder result = new StringBuilder("UPDATE ").append(getTable()).append(" SET ");
-		for (final Iterator<Map.Entry<String, String>> entries = getValues().entrySet().iterator(); entries.hasNext();) {
-			final Entry<String, String> entry = entries.next();
-			result.append(entry.getKey()).append(" = ").append(entry.getValue());
+	public void appendSql(final GeneratorDialect dialect, final Appendable result) throws IOException {
+		result.append("UPDATE ").append(getTable()).append(" SET ");
+		for (final Iterator<Entry<String, ColumnExpression>> entries = getValues().entrySet().iterator(); entries
+				.hasNext();) {
+			final Entry<String, ColumnExpression> entry = entries.next();
+			result.append(entry.getKey()).append(" = ");
+			entry.getValue().appendSql(dialect, result);
 			if (entries.hasNext()) {
 				result.append(", ");
 			}
 		}
-		result.append(" WHERE ").append(this.idColumn).append(" = ").append(this.idValue).append(";\n");
-		return result.toString();
+		result.append(" WHERE ").append(this.idColumn).append(" = ");
+		this.idValue.appendSql(dialect, result);
+		result.append(";\n");
 	}
 }
@@ -0,0 +1,83 @@
+package org.fastnate.generator.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.fastnate.generator.context.AccessStyle;
+import org.fastnate.generator.context.GeneratorContext;
+import org.fastnate.generator.context.Property;
+import org.fastnate.generator.test.access.ExplicitAccessTestEntity;
+import org.fastnate.generator.test.recursion.TestRecursiveEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the throughput of reading the value of a property, for each {@link AccessStyle}.
+ *
+ * Start with {@link #main(String[])} from the test classpath.
+ *
+ * @author Tobias Liefke
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AttributeAccessBenchmark {
+
+	/**
+	 * Runs this benchmark.
+	 *
+	 * @param args
+	 *            ignored
+	 * @throws RunnerException
+	 *             if JMH throws one
+	 */
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(AttributeAccessBenchmark.class.getSimpleName()).forks(1).build())
+				.run();
+	}
+
+	/** The access style of the read property. */
+	@Param({ "FIELD", "METHOD" })
+	private AccessStyle accessStyle;
+
+	private Object entity;
+
+	private Property<Object, ?> property;
+
+	/**
+	 * Finds the property of an entity with the current access style.
+	 */
+	@Setup
+	@SuppressWarnings("unchecked")
+	public void findProperty() {
+		final GeneratorContext context = new GeneratorContext();
+		final Property<?, ?> nameProperty;
+		if (this.accessStyle == AccessStyle.FIELD) {
+			this.entity = new TestRecursiveEntity(null, "Field");
+			nameProperty = context.getDescription(TestRecursiveEntity.class).getProperties().get("name");
+		} else {
+			this.entity = new ExplicitAccessTestEntity(1, "Method", "Method display");
+			nameProperty = context.getDescription(ExplicitAccessTestEntity.class).getProperties().get("name");
+		}
+		this.property = (Property<Object, ?>) nameProperty;
+	}
+
+	/**
+	 * Reads the value of the property.
+	 *
+	 * @return the value, to prevent dead code elimination
+	 */
+	@Benchmark
+	public Object readProperty() {
+		return this.property.getValue(this.entity);
+	}
+
+}
@@ -0,0 +1,79 @@
+package org.fastnate.generator.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.fastnate.generator.context.EntityClass;
+import org.fastnate.generator.context.GeneratorContext;
+import org.fastnate.generator.context.Property;
+import org.fastnate.generator.test.recursion.TestRecursiveEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the cost of the state tracking for one entity, depending on the count of entities with pending updates.
+ *
+ * Start with {@link #main(String[])} from the test classpath.
+ *
+ * @author Tobias Liefke
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EntityStatesBenchmark {
+
+	/**
+	 * Runs this benchmark.
+	 *
+	 * @param args
+	 *            ignored
+	 * @throws RunnerException
+	 *             if JMH throws one
+	 */
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(EntityStatesBenchmark.class.getSimpleName()).forks(1).build()).run();
+	}
+
+	/** The count of entities that are waiting for their insert. */
+	@Param({ "100", "1000", "10000", "100000" })
+	private int pendingEntities;
+
+	private EntityClass<TestRecursiveEntity> description;
+
+	private Property<TestRecursiveEntity, ?> property;
+
+	private final TestRecursiveEntity entityToUpdate = new TestRecursiveEntity(null, "Update");
+
+	private final TestRecursiveEntity entity = new TestRecursiveEntity(null, "Benchmark");
+
+	/**
+	 * Marks the pending entities.
+	 */
+	@Setup
+	public void markPendingEntities() {
+		this.description = new GeneratorContext().getDescription(TestRecursiveEntity.class);
+		this.property = this.description.getProperties().get("parent");
+		for (int i = 0; i < this.pendingEntities; i++) {
+			this.description.markPendingUpdates(new TestRecursiveEntity(null, "Pending " + i), this.entityToUpdate,
+					this.property);
+		}
+	}
+
+	/**
+	 * Adds one entity to the pending entities and removes it again.
+	 */
+	@Benchmark
+	public void markPendingUpdate() {
+		this.description.markPendingUpdates(this.entity, this.entityToUpdate, this.property);
+		this.description.markExistingEntity(this.entity);
+	}
+
+}
@@ -0,0 +1,112 @@
+package org.fastnate.generator.benchmark;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.TemporalType;
+
+import org.apache.commons.io.output.NullWriter;
+import org.fastnate.generator.EntitySqlGenerator;
+import org.fastnate.generator.context.GeneratorContext;
+import org.fastnate.generator.statements.BooleanColumnExpression;
+import org.fastnate.generator.statements.EntityStatement;
+import org.fastnate.generator.statements.InsertStatement;
+import org.fastnate.generator.statements.NumberColumnExpression;
+import org.fastnate.generator.statements.PlainColumnExpression;
+import org.fastnate.generator.statements.StringColumnExpression;
+import org.fastnate.generator.statements.TemporalColumnExpression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the cost of writing one row of an insert statement to the target writer.
+ *
+ * Start with {@link #main(String[])} from the test classpath. Add {@code -prof gc} to the JMH arguments to see the
+ * allocated bytes per row ({@code gc.alloc.rate.norm}).
+ *
+ * @author Tobias Liefke
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StatementRenderingBenchmark {
+
+	/**
+	 * Exposes {@link #writeStatement(EntityStatement)} to the benchmark.
+	 */
+	private static final class StatementWriter extends EntitySqlGenerator {
+
+		StatementWriter(final GeneratorContext context) {
+			super(NullWriter.NULL_WRITER, context);
+		}
+
+		@Override
+		public void writeStatement(final EntityStatement stmt) throws IOException {
+			super.writeStatement(stmt);
+		}
+
+	}
+
+	/**
+	 * Runs this benchmark.
+	 *
+	 * @param args
+	 *            ignored
+	 * @throws RunnerException
+	 *             if JMH throws one
+	 */
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(StatementRenderingBenchmark.class.getSimpleName()).forks(1).build())
+				.run();
+	}
+
+	/** The maximum count of rows in one insert statement. */
+	@Param({ "1", "100" })
+	private int maxInsertRows;
+
+	private final Date date = new Date();
+
+	private StatementWriter writer;
+
+	private long id;
+
+	/**
+	 * Creates the writer.
+	 */
+	@Setup
+	public void createWriter() {
+		final GeneratorContext context = new GeneratorContext();
+		context.setMaxInsertRows(this.maxInsertRows);
+		this.writer = new StatementWriter(context);
+	}
+
+	/**
+	 * Writes one row.
+	 *
+	 * @throws IOException
+	 *             if the generator throws one
+	 */
+	@Benchmark
+	public void writeRow() throws IOException {
+		final InsertStatement stmt = new InsertStatement("BenchmarkEntity");
+		stmt.addValue("id", new NumberColumnExpression(this.id++));
+		stmt.addValue("name", new StringColumnExpression("Name of the benchmark entity"));
+		stmt.addValue("description", new StringColumnExpression("Lorem ipsum dolor sit amet, consetetur sadipscing"));
+		stmt.addValue("created", new TemporalColumnExpression(this.date, TemporalType.TIMESTAMP));
+		stmt.addValue("active", new BooleanColumnExpression(true));
+		stmt.addValue("amount", new NumberColumnExpression(this.id * 2));
+		stmt.addValue("parent", PlainColumnExpression.NULL);
+		this.writer.writeStatement(stmt);
+	}
+
+}
@@ -22,13 +22,14 @@ public class AccessTest extends AbstractEntitySqlGeneratorTest {
 	 */
 	@Test
 	public void testExplicitAccess() throws IOException {
-		final ExplicitAccessTestEntity entity = new ExplicitAccessTestEntity(0, "Explicit");
+		final ExplicitAccessTestEntity entity = new ExplicitAccessTestEntity(0, "Explicit", "Explicit display");
 
 		write(entity);
 
 		final ExplicitAccessTestEntity result = findSingleResult(ExplicitAccessTestEntity.class);
 		assertThat(result.getId()).isEqualTo(entity.getId());
 		assertThat(result.getName()).isEqualTo(entity.getName());
+		assertThat(result.getDisplayName()).isEqualTo(entity.getDisplayName());
 	}
 
 	/**
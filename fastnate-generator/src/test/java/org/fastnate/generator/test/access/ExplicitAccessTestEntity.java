@@ -24,6 +24,19 @@ public class ExplicitAccessTestEntity {
 
 	private String label;
 
+	private String display;
+
+	/**
+	 * The display name of this {@link ExplicitAccessTestEntity}.
+	 *
+	 * Contains "is" in its name, to ensure that only the prefix of the getter is removed.
+	 *
+	 * @return the display name
+	 */
+	public String getDisplayName() {
+		return this.display;
+	}
+
 	/**
 	 * The id of this {@link ExplicitAccessTestEntity}.
 	 *
@@ -45,6 +58,16 @@ public class ExplicitAccessTestEntity {
 		return this.label;
 	}
 
+	/**
+	 * Sets the display name of this {@link ExplicitAccessTestEntity}.
+	 *
+	 * @param displayName
+	 *            the new display name to set
+	 */
+	public void setDisplayName(final String displayName) {
+		this.display = displayName;
+	}
+
 	/**
 	 * Sets the id of this {@link ExplicitAccessTestEntity}.
 	 *
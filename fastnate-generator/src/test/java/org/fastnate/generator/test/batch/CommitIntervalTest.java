@@ -0,0 +1,135 @@
+package org.fastnate.generator.test.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.apache.commons.lang.StringUtils;
+import org.fastnate.generator.EntitySqlGenerator;
+import org.fastnate.generator.context.GeneratorContext;
+import org.fastnate.generator.dialect.GeneratorDialect;
+import org.fastnate.generator.dialect.MsSqlDialect;
+import org.fastnate.generator.dialect.MySqlDialect;
+import org.fastnate.generator.test.AbstractEntitySqlGeneratorTest;
+import org.fastnate.generator.test.SimpleTestEntity;
+import org.fastnate.generator.test.ids.IdentityTestEntity;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.Test;
+
+/**
+ * Tests that the generated SQL commits the written statements in the interval of the context.
+ *
+ * @author Tobias Liefke
+ */
+public class CommitIntervalTest extends AbstractEntitySqlGeneratorTest {
+
+	private static final int COMMIT_INTERVAL = 4;
+
+	private static final int ENTITY_COUNT = 10;
+
+	private static void assertIdentityVariables(final GeneratorDialect dialect, final String capture)
+			throws IOException {
+		final GeneratorContext context = new GeneratorContext(dialect);
+		context.setIdentityVariables(2);
+		context.setMaxUniqueProperties(0);
+		context.setMaxInsertRows(COMMIT_INTERVAL);
+		context.setCommitInterval(COMMIT_INTERVAL);
+		final StringWriter sql = new StringWriter();
+		try (EntitySqlGenerator generator = new EntitySqlGenerator(sql, context)) {
+			IdentityTestEntity previous = null;
+			for (int i = 0; i < ENTITY_COUNT; i++) {
+				final IdentityTestEntity entity = new IdentityTestEntity("Commit " + i);
+				entity.setOther(previous);
+				generator.write(entity);
+				previous = entity;
+			}
+		}
+
+		// Every insert is directly followed by the statement that stores its ID
+		final String[] lines = StringUtils.split(sql.toString(), '\n');
+		int captures = 0;
+		for (int i = 1; i < lines.length; i++) {
+			if (lines[i].startsWith(capture)) {
+				assertThat(lines[i - 1]).startsWith("INSERT INTO").doesNotContain("), (");
+				captures++;
+			}
+		}
+		assertThat(captures).isEqualTo(ENTITY_COUNT);
+	}
+
+	private static String write(final GeneratorContext context) throws IOException {
+		context.setExplicitIds(true);
+		context.setCommitInterval(COMMIT_INTERVAL);
+		final StringWriter sql = new StringWriter();
+		try (EntitySqlGenerator generator = new EntitySqlGenerator(sql, context)) {
+			for (int i = 0; i < ENTITY_COUNT; i++) {
+				generator.write(new SimpleTestEntity("Commit " + i));
+			}
+		}
+		return sql.toString();
+	}
+
+	private Connection openConnection() throws SQLException {
+		return getEm().getEntityManagerFactory().unwrap(SessionFactoryImplementor.class).getServiceRegistry()
+				.getService(ConnectionProvider.class).getConnection();
+	}
+
+	/**
+	 * Tests that every transaction is started and committed.
+	 *
+	 * @throws IOException
+	 *             if the generator throws one
+	 * @throws SQLException
+	 *             if the database throws one
+	 */
+	@Test
+	public void testCommitInterval() throws IOException, SQLException {
+		final String sql = write(new GeneratorContext());
+		final int transactions = (ENTITY_COUNT + COMMIT_INTERVAL - 1) / COMMIT_INTERVAL;
+		assertThat(sql).startsWith("SET AUTOCOMMIT FALSE;\n").endsWith("COMMIT;\n");
+		assertThat(StringUtils.countMatches(sql, "SET AUTOCOMMIT FALSE;\n")).isEqualTo(transactions);
+		assertThat(StringUtils.countMatches(sql, "COMMIT;\n")).isEqualTo(transactions);
+
+		try (Connection connection = openConnection()) {
+			try (Statement statement = connection.createStatement()) {
+				for (final String line : StringUtils.split(sql, '\n')) {
+					statement.execute(StringUtils.removeEnd(line, ";"));
+				}
+			}
+		}
+		assertThat(findResults(SimpleTestEntity.class)).hasSize(ENTITY_COUNT);
+	}
+
+	/**
+	 * Tests that the identity variables for MS SQL and MySQL are stored in the transaction of their insert.
+	 *
+	 * @throws IOException
+	 *             if the generator throws one
+	 */
+	@Test
+	public void testIdentityVariables() throws IOException {
+		assertIdentityVariables(new MsSqlDialect(), "EXEC sp_executesql N'DECLARE @id NUMERIC(38) = @@IDENTITY; ");
+		assertIdentityVariables(new MySqlDialect(), "SET @fastnate_id_");
+	}
+
+	/**
+	 * Tests that the transactions for MS SQL end with the batch separator.
+	 *
+	 * @throws IOException
+	 *             if the generator throws one
+	 */
+	@Test
+	public void testMsSqlBatches() throws IOException {
+		final GeneratorContext context = new GeneratorContext(new MsSqlDialect());
+		final String sql = write(context);
+		final int transactions = (ENTITY_COUNT + COMMIT_INTERVAL - 1) / COMMIT_INTERVAL;
+		assertThat(sql).startsWith("BEGIN TRANSACTION;\n").endsWith("COMMIT TRANSACTION;\nGO\n");
+		assertThat(StringUtils.countMatches(sql, "COMMIT TRANSACTION;\nGO\n")).isEqualTo(transactions);
+	}
+
+}
@@ -0,0 +1,73 @@
+package org.fastnate.generator.test.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.fastnate.generator.EntitySqlGenerator;
+import org.fastnate.generator.context.GeneratorContext;
+import org.fastnate.generator.dialect.MsSqlDialect;
+import org.fastnate.generator.test.AbstractEntitySqlGeneratorTest;
+import org.fastnate.generator.test.SimpleTestEntity;
+import org.fastnate.generator.test.SqlEmWriter;
+import org.fastnate.generator.test.collections.CollectionsTestEntity;
+import org.junit.Test;
+
+/**
+ * Tests that the checks of constraints are disabled while the generated data is loaded.
+ *
+ * @author Tobias Liefke
+ */
+public class DisableConstraintsTest extends AbstractEntitySqlGeneratorTest {
+
+	private static String write(final GeneratorContext context) throws IOException {
+		context.setExplicitIds(true);
+		context.setDisableConstraints(true);
+		final CollectionsTestEntity entity = new CollectionsTestEntity();
+		entity.getStringSet().add("Constraints");
+		entity.getOrderedEntityList().add(new SimpleTestEntity("Constraints"));
+		final StringWriter sql = new StringWriter();
+		try (EntitySqlGenerator generator = new EntitySqlGenerator(sql, context)) {
+			generator.write(entity);
+		}
+		return sql.toString();
+	}
+
+	/**
+	 * Tests to disable the referential integrity of H2 for the generated script.
+	 *
+	 * @throws IOException
+	 *             if the generator throws one
+	 */
+	@Test
+	public void testDisableSession() throws IOException {
+		final String sql = write(new GeneratorContext());
+		assertThat(sql).startsWith("SET REFERENTIAL_INTEGRITY FALSE;\n").endsWith("SET REFERENTIAL_INTEGRITY TRUE;\n");
+
+		try (SqlEmWriter writer = new SqlEmWriter(getEm())) {
+			writer.write(sql);
+		}
+		final CollectionsTestEntity result = findSingleResult(CollectionsTestEntity.class);
+		assertThat(result.getStringSet()).containsExactly("Constraints");
+		assertThat(result.getOrderedEntityList()).extracting("name").containsExactly("Constraints");
+	}
+
+	/**
+	 * Tests to disable the constraints of all tables and collection tables for MS SQL.
+	 *
+	 * @throws IOException
+	 *             if the generator throws one
+	 */
+	@Test
+	public void testDisableTables() throws IOException {
+		final String sql = write(new GeneratorContext(new MsSqlDialect()));
+		for (final String table : new String[] { "CollectionsTest", "SimpleTest", "OE_LIST" }) {
+			final int disable = sql.indexOf("ALTER TABLE " + table + " NOCHECK CONSTRAINT ALL;\n");
+			final int enable = sql.indexOf("ALTER TABLE " + table + " WITH CHECK CHECK CONSTRAINT ALL;\n");
+			assertThat(disable).isGreaterThanOrEqualTo(0).isLessThan(sql.indexOf("INSERT INTO " + table));
+			assertThat(enable).isGreaterThan(sql.lastIndexOf("INSERT INTO " + table));
+		}
+	}
+
+}
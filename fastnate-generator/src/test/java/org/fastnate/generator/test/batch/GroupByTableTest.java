@@ -0,0 +1,137 @@
+package org.fastnate.generator.test.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.fastnate.generator.EntitySqlGenerator;
+import org.fastnate.generator.context.GeneratorContext;
+import org.fastnate.generator.context.TableDependencyGraph;
+import org.fastnate.generator.test.AbstractEntitySqlGeneratorTest;
+import org.fastnate.generator.test.SimpleTestEntity;
+import org.fastnate.generator.test.collections.ChildTestEntity;
+import org.fastnate.generator.test.collections.CollectionsTestEntity;
+import org.fastnate.generator.test.collections.CollectionsTestEntityProperty;
+import org.fastnate.generator.test.recursion.TestRecursiveEntity;
+import org.junit.Test;
+
+/**
+ * Tests that statements are written grouped by table, in the order of the dependencies of the tables.
+ *
+ * @author Tobias Liefke
+ */
+public class GroupByTableTest extends AbstractEntitySqlGeneratorTest {
+
+	private static final int MAX_ROWS = 10;
+
+	private static final int ENTITY_COUNT = 5;
+
+	private static final Pattern TABLE_PATTERN = Pattern.compile("^(?:INSERT INTO|UPDATE) (\\w+)",
+			Pattern.MULTILINE);
+
+	private static List<CollectionsTestEntity> createEntities() {
+		final List<CollectionsTestEntity> entities = new ArrayList<>();
+		for (int i = 0; i < ENTITY_COUNT; i++) {
+			final CollectionsTestEntity entity = new CollectionsTestEntity();
+			entity.getStringSet().add("Grouped " + i);
+			entity.getEntitySet().add(new SimpleTestEntity("Grouped set " + i));
+			entity.getOrderedEntityList().add(new SimpleTestEntity("Grouped list " + i));
+			entity.getEmbeddedList().add(new CollectionsTestEntityProperty("Grouped embedded " + i, entity));
+			entity.getChildren().add(new ChildTestEntity(entity, "Grouped child " + i));
+			entity.getChildren().add(new ChildTestEntity(entity, "Grouped child " + i + '*'));
+			entities.add(entity);
+		}
+		return entities;
+	}
+
+	/**
+	 * Tests that the grouped statements are written to the database.
+	 *
+	 * @throws IOException
+	 *             if the generator throws one
+	 */
+	@Test
+	public void testGroupedStatements() throws IOException {
+		final GeneratorContext context = getGenerator().getContext();
+		context.setExplicitIds(true);
+		context.setGroupByTable(true);
+		context.setMaxInsertRows(MAX_ROWS);
+		final List<CollectionsTestEntity> entities = createEntities();
+		getGenerator().write(entities);
+		getGenerator().flush();
+
+		assertThat(findResults(CollectionsTestEntity.class)).hasSize(ENTITY_COUNT);
+		for (int i = 0; i < ENTITY_COUNT; i++) {
+			final CollectionsTestEntity result = findSingleResult(
+					"SELECT e FROM CTE e JOIN e.stringSet s WHERE s = 'Grouped " + i + "'", CollectionsTestEntity.class);
+			assertThat(result.getId()).isEqualTo(entities.get(i).getId());
+			assertThat(result.getEntitySet()).extracting("name").containsOnly("Grouped set " + i);
+			assertThat(result.getOrderedEntityList()).extracting("name").containsExactly("Grouped list " + i);
+			assertThat(result.getEmbeddedList()).extracting("description").containsExactly("Grouped embedded " + i);
+			assertThat(result.getChildren()).extracting("name").containsExactly("Grouped child " + i,
+					"Grouped child " + i + '*');
+		}
+	}
+
+	/**
+	 * Tests that references relative to the current value of a sequence are rejected, as the statements are
+	 * reordered.
+	 *
+	 * @throws IOException
+	 *             if the generator throws one
+	 */
+	@Test(expected = IllegalStateException.class)
+	public void testRelativeReferences() throws IOException {
+		final GeneratorContext context = new GeneratorContext();
+		context.setMaxUniqueProperties(0);
+		context.setGroupByTable(true);
+		try (EntitySqlGenerator generator = new EntitySqlGenerator(new StringWriter(), context)) {
+			final TestRecursiveEntity root = new TestRecursiveEntity(null, "Root");
+			new TestRecursiveEntity(root, "Child");
+			generator.write(root);
+		}
+	}
+
+	/**
+	 * Tests that the statements of a table are written together and after the statements of all referenced tables.
+	 *
+	 * @throws IOException
+	 *             if the generator throws one
+	 */
+	@Test
+	public void testTableOrder() throws IOException {
+		final GeneratorContext context = new GeneratorContext();
+		context.setExplicitIds(true);
+		context.setGroupByTable(true);
+		final StringWriter sql = new StringWriter();
+		try (EntitySqlGenerator generator = new EntitySqlGenerator(sql, context)) {
+			generator.write(createEntities());
+			generator.flush();
+
+			final TableDependencyGraph dependencies = new TableDependencyGraph(context);
+			final List<String> tables = new ArrayList<>();
+			final Matcher matcher = TABLE_PATTERN.matcher(sql.toString());
+			while (matcher.find()) {
+				final String table = matcher.group(1);
+				if (tables.isEmpty() || !tables.get(tables.size() - 1).equals(table)) {
+					// Each table is written only once
+					assertThat(tables).doesNotContain(table);
+					if (!tables.isEmpty()) {
+						assertThat(dependencies.getPosition(table))
+								.isGreaterThan(dependencies.getPosition(tables.get(tables.size() - 1)));
+					}
+					tables.add(table);
+				}
+			}
+			assertThat(tables).containsSubsequence("SimpleTest", "OE_LIST");
+			assertThat(tables).containsSubsequence("CollectionsTest", "OE_LIST");
+			assertThat(tables).containsSubsequence("CollectionsTest", "ChildTestEntity");
+		}
+	}
+
+}
@@ -0,0 +1,83 @@
+package org.fastnate.generator.test.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang.StringUtils;
+import org.fastnate.generator.EntitySqlGenerator;
+import org.fastnate.generator.context.GeneratorContext;
+import org.fastnate.generator.test.AbstractEntitySqlGeneratorTest;
+import org.fastnate.generator.test.SimpleTestEntity;
+import org.fastnate.generator.test.recursion.TestRecursiveEntity;
+import org.junit.Test;
+
+/**
+ * Tests that consecutive inserts are combined into multi-row inserts.
+ *
+ * @author Tobias Liefke
+ */
+public class MultiRowInsertTest extends AbstractEntitySqlGeneratorTest {
+
+	private static final int MAX_ROWS = 10;
+
+	private static final int ENTITY_COUNT = 25;
+
+	/**
+	 * Tests that the combined inserts are written to the database.
+	 *
+	 * @throws IOException
+	 *             if the generator throws one
+	 */
+	@Test
+	public void testMultiRowInserts() throws IOException {
+		getGenerator().getContext().setMaxInsertRows(MAX_ROWS);
+		final List<SimpleTestEntity> entities = new ArrayList<>();
+		for (int i = 0; i < ENTITY_COUNT; i++) {
+			entities.add(new SimpleTestEntity("Multi row " + i));
+		}
+		getGenerator().write(entities);
+		getGenerator().flush();
+
+		final List<SimpleTestEntity> result = findResults(SimpleTestEntity.class);
+		assertThat(result).hasSize(ENTITY_COUNT);
+		for (final SimpleTestEntity entity : entities) {
+			assertThat(findSingleResult("SELECT e FROM SimpleTestEntity e WHERE e.name = '" + entity.getName() + "'",
+					SimpleTestEntity.class).getId()).isEqualTo(entity.getId());
+		}
+	}
+
+	/**
+	 * Tests that inserts are only combined, if the limits are not exceeded and the rows are independent.
+	 *
+	 * @throws IOException
+	 *             if the generator throws one
+	 */
+	@Test
+	public void testMultiRowLimits() throws IOException {
+		final GeneratorContext context = new GeneratorContext();
+		context.setMaxInsertRows(MAX_ROWS);
+		final StringWriter sql = new StringWriter();
+		try (EntitySqlGenerator generator = new EntitySqlGenerator(sql, context)) {
+			for (int i = 0; i < ENTITY_COUNT; i++) {
+				generator.write(new SimpleTestEntity("Multi row " + i));
+			}
+		}
+		assertThat(StringUtils.countMatches(sql.toString(), "INSERT INTO")).isEqualTo(3);
+		assertThat(StringUtils.countMatches(sql.toString(), "), (")).isEqualTo(ENTITY_COUNT - 3);
+
+		// Rows that reference rows of the same insert are not combined
+		final StringWriter recursionSql = new StringWriter();
+		try (EntitySqlGenerator generator = new EntitySqlGenerator(recursionSql, context)) {
+			final TestRecursiveEntity root = new TestRecursiveEntity(null, "Root");
+			new TestRecursiveEntity(root, "Child 1");
+			new TestRecursiveEntity(root, "Child 2");
+			generator.write(root);
+		}
+		assertThat(StringUtils.countMatches(recursionSql.toString(), "INSERT INTO")).isEqualTo(3);
+	}
+
+}
@@ -0,0 +1,148 @@
+package org.fastnate.generator.test.csv;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.fastnate.generator.CsvEntitySqlGenerator;
+import org.fastnate.generator.context.GeneratorContext;
+import org.fastnate.generator.test.AbstractEntitySqlGeneratorTest;
+import org.fastnate.generator.test.SimpleTestEntity;
+import org.fastnate.generator.test.SqlEmWriter;
+import org.fastnate.generator.test.ids.IdentityTestEntity;
+import org.fastnate.generator.test.primitive.PrimitiveTestEntity;
+import org.fastnate.generator.test.primitive.TestEnum;
+import org.fastnate.generator.test.recursion.TestRecursiveEntity;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the {@link CsvEntitySqlGenerator}.
+ *
+ * @author Tobias Liefke
+ */
+public class CsvEntitySqlGeneratorTest extends AbstractEntitySqlGeneratorTest {
+
+	private static final int ENTITY_COUNT = 25;
+
+	/** The folder for the CSV files. */
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Tests to write the rows into CSV files and to import these with CSVREAD.
+	 *
+	 * @throws IOException
+	 *             if the generator throws one
+	 */
+	@Test
+	public void testCsvImport() throws IOException {
+		final GeneratorContext context = new GeneratorContext();
+		context.setExplicitIds(true);
+		context.setMaxUniqueProperties(0);
+		final List<SimpleTestEntity> entities = new ArrayList<>();
+		for (int i = 0; i < ENTITY_COUNT; i++) {
+			entities.add(new SimpleTestEntity("CSV " + i));
+		}
+		entities.add(new SimpleTestEntity("CSV \"quoted\", with separator"));
+		entities.add(new SimpleTestEntity("CSV with\nnewline"));
+
+		final TestRecursiveEntity root = new TestRecursiveEntity(null, "Root");
+		final TestRecursiveEntity child = new TestRecursiveEntity(root, "Child");
+		new TestRecursiveEntity(child, "Grandchild");
+
+		final PrimitiveTestEntity primitive = new PrimitiveTestEntity("CSV primitives");
+		primitive.setDescription("");
+		primitive.setTestBoolean(true);
+		primitive.setTestChar('c');
+		primitive.setTestDouble(2.5);
+		final Date now = new Date();
+		primitive.setDate(now);
+		primitive.setTimestamp(now);
+		primitive.setStringEnum(TestEnum.two);
+
+		final StringWriter script = new StringWriter();
+		try (CsvEntitySqlGenerator generator = new CsvEntitySqlGenerator(this.folder.getRoot(), script, context)) {
+			generator.write(entities);
+			generator.write(root);
+			generator.write(primitive);
+		}
+		assertThat(script.toString()).contains("CSVREAD(").doesNotContain("VALUES");
+		assertThat(new File(this.folder.getRoot(), "SimpleTest.csv")).isFile();
+
+		try (SqlEmWriter writer = new SqlEmWriter(getEm())) {
+			writer.write(script.toString());
+		}
+
+		assertThat(findResults(SimpleTestEntity.class)).hasSize(entities.size());
+		for (final SimpleTestEntity entity : entities) {
+			assertThat(findSingleResult("SELECT e FROM SimpleTestEntity e WHERE e.id = " + entity.getId(),
+					SimpleTestEntity.class).getName()).isEqualTo(entity.getName());
+		}
+
+		final TestRecursiveEntity grandchild = findSingleResult(
+				"SELECT e FROM TestRecursiveEntity e WHERE e.name = 'Grandchild'", TestRecursiveEntity.class);
+		assertThat(grandchild.getParent().getName()).isEqualTo("Child");
+		assertThat(grandchild.getParent().getParent().getName()).isEqualTo("Root");
+		assertThat(grandchild.getParent().getParent().getParent()).isNull();
+
+		final PrimitiveTestEntity result = findSingleResult(PrimitiveTestEntity.class);
+		assertThat(result.getName()).isEqualTo(primitive.getName());
+		assertThat(result.isTestBoolean()).isTrue();
+		assertThat(result.getTestChar()).isEqualTo('c');
+		assertThat(result.getTestDouble()).isEqualTo(primitive.getTestDouble());
+		assertThat(result.getDescription()).isEmpty();
+		assertThat(result.getTime()).isNull();
+		assertThat(result.getDate()).isInSameDayAs(now);
+		assertThat(result.getTimestamp().getTime()).isEqualTo(now.getTime());
+		assertThat(result.getStringEnum()).isEqualTo(TestEnum.two);
+	}
+
+	/**
+	 * Tests that identity variables are not used for CSV files, as the rows of identity tables have explicit IDs.
+	 *
+	 * @throws IOException
+	 *             if the generator throws one
+	 */
+	@Test
+	public void testIdentityVariables() throws IOException {
+		final GeneratorContext context = new GeneratorContext();
+		context.setExplicitIds(true);
+		context.setIdentityVariables(2);
+		context.setMaxUniqueProperties(0);
+		final StringWriter script = new StringWriter();
+		final List<IdentityTestEntity> entities = new ArrayList<>();
+		try (CsvEntitySqlGenerator generator = new CsvEntitySqlGenerator(this.folder.getRoot(), script, context)) {
+			for (int i = 0; i < ENTITY_COUNT; i++) {
+				final IdentityTestEntity entity = new IdentityTestEntity("CSV " + i);
+				entity.setOther(entities.isEmpty() ? null : entities.get(entities.size() - 1));
+				entities.add(entity);
+				generator.write(entity);
+			}
+		}
+		assertThat(script.toString()).doesNotContain("IDENTITY()").doesNotContain("VALUES");
+
+		try (SqlEmWriter writer = new SqlEmWriter(getEm())) {
+			writer.write(script.toString());
+		}
+		for (final IdentityTestEntity entity : entities.subList(1, entities.size())) {
+			assertThat(findSingleResult("SELECT e FROM IdentityTestEntity e WHERE e.id = " + entity.getId(),
+					IdentityTestEntity.class).getOther().getName()).isEqualTo(entity.getOther().getName());
+		}
+	}
+
+	/**
+	 * Tests that CSV files are only written with explicit IDs.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testGeneratedIds() {
+		new CsvEntitySqlGenerator(this.folder.getRoot(), new StringWriter(), new GeneratorContext());
+	}
+
+}
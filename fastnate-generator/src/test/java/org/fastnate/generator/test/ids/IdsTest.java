@@ -3,10 +3,32 @@ package org.fastnate.generator.test.ids;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 
+import org.apache.commons.lang.StringUtils;
+import org.fastnate.generator.EntitySqlGenerator;
+import org.fastnate.generator.context.EntityClass;
+import org.fastnate.generator.context.GeneratedIdProperty;
+import org.fastnate.generator.context.GeneratorContext;
 import org.fastnate.generator.test.AbstractEntitySqlGeneratorTest;
+import org.fastnate.generator.test.SqlEmWriter;
 import org.fastnate.generator.test.embedded.EmbeddedTest;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.junit.Test;
 
 /**
@@ -18,6 +40,52 @@ import org.junit.Test;
  */
 public class IdsTest extends AbstractEntitySqlGeneratorTest {
 
+	private static final long EXPLICIT_IDS_START = 1000;
+
+	/** The maximum count of garbage collections, when waiting for the release of an entity. */
+	private static final int GC_RUNS = 100;
+
+	/** The milliseconds to wait after every garbage collection. */
+	private static final long GC_WAIT = 10;
+
+	/**
+	 * Tests that generators in different threads, which share one context, share its description and its ID space.
+	 *
+	 * @throws Exception
+	 *             if one of the threads throws one
+	 */
+	@Test
+	public void testConcurrentIds() throws Exception {
+		final GeneratorContext context = new GeneratorContext();
+		context.setExplicitIds(true);
+		final int threadCount = 4;
+		final int idCount = 1000;
+		final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		try {
+			final List<Future<List<Long>>> futures = new ArrayList<>();
+			for (int i = 0; i < threadCount; i++) {
+				futures.add(executor.submit(() -> {
+					final EntityClass<SequenceTestEntity> description = context
+							.getDescription(SequenceTestEntity.class);
+					final GeneratedIdProperty<?> idProperty = (GeneratedIdProperty<?>) description.getIdProperty();
+					final List<Long> ids = new ArrayList<>();
+					for (int j = 0; j < idCount; j++) {
+						ids.add(context.createNextValue(idProperty));
+					}
+					return ids;
+				}));
+			}
+			final Set<Long> ids = new HashSet<>();
+			for (final Future<List<Long>> future : futures) {
+				ids.addAll(future.get());
+			}
+			assertThat(ids).hasSize(threadCount * idCount);
+			assertThat(context.getDescriptions()).hasSize(1);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
 	/**
 	 * Tests to write an entity with just the generated ID.
 	 *
@@ -32,6 +100,62 @@ public class IdsTest extends AbstractEntitySqlGeneratorTest {
 		assertThat(result.getName()).isNull();
 	}
 
+	/**
+	 * Tests to write explicit ids after a start value, which restarts the identity column afterwards.
+	 *
+	 * @throws Exception
+	 *             if Hibernate or the generator throws one
+	 */
+	@Test
+	public void testExplicitIdentityStart() throws Exception {
+		testExplicitIdsStart(IdentityTestEntity.class, IdentityTestEntity::getId);
+	}
+
+	private <E extends IdTestEntity<E>> void testExplicitIdsStart(final Class<E> entityClass,
+			final Function<E, Long> id) throws IOException, ReflectiveOperationException {
+		final Constructor<E> entityConstructor = entityClass.getConstructor(String.class);
+		final GeneratorContext context = new GeneratorContext();
+		context.setExplicitIds(true);
+		context.setExplicitIdsStart(EXPLICIT_IDS_START);
+		final E entity1 = entityConstructor.newInstance("entity1");
+		final E entity2 = entityConstructor.newInstance("entity2");
+		entity2.setOther(entity1);
+		final StringWriter sql = new StringWriter();
+		try (EntitySqlGenerator generator = new EntitySqlGenerator(sql, context)) {
+			generator.write(entity1);
+			generator.write(entity2);
+		}
+		assertThat(id.apply(entity1)).isEqualTo(EXPLICIT_IDS_START);
+		// Even for sequences with an allocation size, as the IDs are part of one block
+		assertThat(id.apply(entity2)).isEqualTo(EXPLICIT_IDS_START + 1);
+		assertThat(sql.toString()).doesNotContain("SELECT");
+
+		try (SqlEmWriter writer = new SqlEmWriter(getEm())) {
+			writer.write(sql.toString());
+		}
+		final E foundEntity = findSingleResult(
+				"SELECT e FROM " + entityClass.getSimpleName() + " e WHERE e.name = 'entity2'", entityClass);
+		assertThat(foundEntity.getOther().getName()).isEqualTo("entity1");
+
+		// Ensure that the next generated id follows the written ids
+		final E entity3 = entityConstructor.newInstance("entity3");
+		getEm().getTransaction().begin();
+		getEm().persist(entity3);
+		getEm().getTransaction().commit();
+		assertThat(id.apply(entity3)).isGreaterThan(id.apply(entity2));
+	}
+
+	/**
+	 * Tests to write explicit ids after a start value, which restarts the sequence afterwards.
+	 *
+	 * @throws Exception
+	 *             if Hibernate or the generator throws one
+	 */
+	@Test
+	public void testExplicitSequenceStart() throws Exception {
+		testExplicitIdsStart(SequenceTestEntity.class, SequenceTestEntity::getId);
+	}
+
 	/**
 	 * Tests to write entities with fixed ids.
 	 *
@@ -55,6 +179,113 @@ public class IdsTest extends AbstractEntitySqlGeneratorTest {
 		testIds(IdentityTestEntity.class);
 	}
 
+	/**
+	 * Tests to reference the values of an identity column by the variables, that stored them after the insert.
+	 *
+	 * @throws Exception
+	 *             if Hibernate, the database or the generator throws one
+	 */
+	@Test
+	public void testIdentityVariables() throws Exception {
+		final GeneratorContext context = new GeneratorContext();
+		context.setIdentityVariables(2);
+		context.setMaxUniqueProperties(0);
+		final IdentityTestEntity entity1 = new IdentityTestEntity("entity1");
+		final IdentityTestEntity entity2 = new IdentityTestEntity("entity2");
+		final IdentityTestEntity entity3 = new IdentityTestEntity("entity3");
+		final IdentityTestEntity entity4 = new IdentityTestEntity("entity4");
+		final IdentityTestEntity entity5 = new IdentityTestEntity("entity5");
+		// Written before entity2 and stored in a variable
+		entity2.setOther(entity5);
+		// Stored in a variable
+		entity3.setOther(entity2);
+		// The variable of entity1 was recycled already
+		entity4.setOther(entity1);
+		final StringWriter sql = new StringWriter();
+		try (EntitySqlGenerator generator = new EntitySqlGenerator(sql, context)) {
+			generator.write(entity1);
+			generator.write(entity2);
+			generator.write(entity3);
+			generator.write(entity4);
+			generator.write(entity5);
+		}
+		assertThat(sql.toString()).contains("SET @fastnate_id_0 = IDENTITY();\n")
+				.contains("SET @fastnate_id_1 = IDENTITY();\n").contains("('entity2', @fastnate_id_1)")
+				.contains("('entity3', @fastnate_id_0)").contains("('entity4', (SELECT max(");
+
+		// Variables are stored in the session, so we need to use the same connection for all statements
+		try (Connection connection = getEm().getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+				.getServiceRegistry().getService(ConnectionProvider.class).getConnection()) {
+			try (Statement statement = connection.createStatement()) {
+				for (final String line : StringUtils.split(sql.toString(), '\n')) {
+					statement.execute(StringUtils.removeEnd(line, ";"));
+				}
+			}
+			if (!connection.getAutoCommit()) {
+				connection.commit();
+			}
+		}
+		// The identity column of the database starts with another value than the IDs of the generator
+		final long offset = findIdentityEntity(entity1).getId() - entity1.getId();
+		for (final IdentityTestEntity entity : new IdentityTestEntity[] { entity2, entity3, entity4 }) {
+			final IdentityTestEntity foundEntity = findIdentityEntity(entity);
+			assertThat(foundEntity.getId()).isEqualTo(entity.getId() + offset);
+			assertThat(foundEntity.getOther().getName()).isEqualTo(entity.getOther().getName());
+		}
+	}
+
+	/**
+	 * Tests that the variables for the values of an identity column are only used, as long as a single generator writes
+	 * entities with the context.
+	 *
+	 * @throws IOException
+	 *             if a generator throws one
+	 */
+	@Test
+	public void testIdentityVariablesOfSeveralGenerators() throws IOException {
+		final GeneratorContext context = new GeneratorContext();
+		context.setIdentityVariables(2);
+		context.setMaxUniqueProperties(0);
+		final IdentityTestEntity entity1 = new IdentityTestEntity("entity1");
+		final IdentityTestEntity entity2 = new IdentityTestEntity("entity2");
+		final IdentityTestEntity entity3 = new IdentityTestEntity("entity3");
+		final IdentityTestEntity entity4 = new IdentityTestEntity("entity4");
+		final IdentityTestEntity entity5 = new IdentityTestEntity("entity5");
+		entity2.setOther(entity1);
+		entity3.setOther(entity1);
+		entity5.setOther(entity4);
+		final StringWriter sql1 = new StringWriter();
+		final StringWriter sql2 = new StringWriter();
+		try (EntitySqlGenerator generator1 = new EntitySqlGenerator(sql1, context)) {
+			generator1.write(entity1);
+			try (EntitySqlGenerator generator2 = new EntitySqlGenerator(sql2, context)) {
+				// The variable of entity1 is not available in the session of the second generator
+				generator2.write(entity2);
+				// And while both generators are open, no variables are used at all
+				generator1.write(entity3);
+			}
+			// Now the first generator is alone again
+			generator1.write(entity4);
+			generator1.write(entity5);
+		}
+		assertThat(sql1.toString()).contains("SET @fastnate_id_0 = IDENTITY();\n")
+				.contains("('entity3', (SELECT max(").contains("('entity5', @fastnate_id_0)");
+		assertThat(sql2.toString()).doesNotContain("@fastnate_id").contains("('entity2', (SELECT max(");
+	}
+
+	private IdentityTestEntity findIdentityEntity(final IdentityTestEntity entity) {
+		return findSingleResult("SELECT e FROM IdentityTestEntity e WHERE e.name = '" + entity.getName() + "'",
+				IdentityTestEntity.class);
+	}
+
+	private static WeakReference<IdentityTestEntity> markPendingEntity(final GeneratorContext context,
+			final IdentityTestEntity entityToUpdate) {
+		final EntityClass<IdentityTestEntity> description = context.getDescription(IdentityTestEntity.class);
+		final IdentityTestEntity pendingEntity = new IdentityTestEntity("pending");
+		description.markPendingUpdates(pendingEntity, entityToUpdate, description.getProperties().get("other"));
+		return new WeakReference<>(pendingEntity);
+	}
+
 	private <E extends IdTestEntity<E>> E testIds(final Class<E> entityClass) throws IOException,
 			ReflectiveOperationException {
 		final Constructor<E> entityConstructor = entityClass.getConstructor(String.class);
@@ -83,6 +314,65 @@ public class IdsTest extends AbstractEntitySqlGeneratorTest {
 		return foundEntity;
 	}
 
+	/**
+	 * Tests to write the IDs of a pooled-lo block relative to one value of the sequence.
+	 *
+	 * @throws Exception
+	 *             if Hibernate or the generator throws one
+	 */
+	@Test
+	public void testSequenceBlock() throws Exception {
+		final Properties settings = new Properties();
+		settings.setProperty(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo");
+		final GeneratorContext context = new GeneratorContext(settings);
+		context.setMaxUniqueProperties(0);
+		final SequenceTestEntity entity1 = new SequenceTestEntity("entity1");
+		final SequenceTestEntity entity2 = new SequenceTestEntity("entity2");
+		final SequenceTestEntity entity3 = new SequenceTestEntity("entity3");
+		entity3.setOther(entity1);
+		final StringWriter sql = new StringWriter();
+		try (EntitySqlGenerator generator = new EntitySqlGenerator(sql, context)) {
+			generator.write(entity1);
+			generator.write(entity2);
+			generator.write(entity3);
+		}
+		assertThat(StringUtils.countMatches(sql.toString(), "nextval(")).isEqualTo(1);
+
+		try (SqlEmWriter writer = new SqlEmWriter(getEm())) {
+			writer.write(sql.toString());
+		}
+		final SequenceTestEntity foundEntity1 = findSingleResult(
+				"SELECT e FROM SequenceTestEntity e WHERE e.name = 'entity1'", SequenceTestEntity.class);
+		final SequenceTestEntity foundEntity3 = findSingleResult(
+				"SELECT e FROM SequenceTestEntity e WHERE e.name = 'entity3'", SequenceTestEntity.class);
+		assertThat(foundEntity3.getId()).isEqualTo(foundEntity1.getId() + 2);
+		assertThat(foundEntity3.getOther()).isSameAs(foundEntity1);
+	}
+
+	/**
+	 * Tests that the state of a pending entity is released, as soon as the entity is not referenced anymore.
+	 *
+	 * @throws Exception
+	 *             if the wait for the garbage collector is interrupted
+	 */
+	@Test
+	public void testReleaseEntities() throws Exception {
+		final GeneratorContext context = new GeneratorContext();
+		final IdentityTestEntity entityToUpdate = new IdentityTestEntity("entityToUpdate");
+		final WeakReference<IdentityTestEntity> keptEntity = markPendingEntity(context, entityToUpdate);
+		System.gc();
+		assertThat(keptEntity.get()).isNotNull();
+
+		final GeneratorContext releasingContext = new GeneratorContext();
+		releasingContext.setReleaseEntities(true);
+		final WeakReference<IdentityTestEntity> releasedEntity = markPendingEntity(releasingContext, entityToUpdate);
+		for (int i = 0; i < GC_RUNS && releasedEntity.get() != null; i++) {
+			System.gc();
+			Thread.sleep(GC_WAIT);
+		}
+		assertThat(releasedEntity.get()).isNull();
+	}
+
 	/**
 	 * Tests to write an entity with a sequence generator.
 	 *
@@ -0,0 +1,108 @@
+package org.fastnate.generator.test.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.fastnate.generator.JdbcEntitySqlGenerator;
+import org.fastnate.generator.context.GeneratorContext;
+import org.fastnate.generator.test.AbstractEntitySqlGeneratorTest;
+import org.fastnate.generator.test.SimpleTestEntity;
+import org.fastnate.generator.test.recursion.TestRecursiveEntity;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.Test;
+
+/**
+ * Tests the {@link JdbcEntitySqlGenerator}.
+ *
+ * @author Tobias Liefke
+ */
+public class JdbcEntitySqlGeneratorTest extends AbstractEntitySqlGeneratorTest {
+
+	private static final int ENTITY_COUNT = 25;
+
+	private Connection openConnection() throws SQLException {
+		return getEm().getEntityManagerFactory().unwrap(SessionFactoryImplementor.class).getServiceRegistry()
+				.getService(ConnectionProvider.class).getConnection();
+	}
+
+	private void testWrite(final GeneratorContext context) throws IOException, SQLException {
+		final List<SimpleTestEntity> entities = new ArrayList<>();
+		for (int i = 0; i < ENTITY_COUNT; i++) {
+			entities.add(new SimpleTestEntity("JDBC " + i));
+		}
+		final TestRecursiveEntity root = new TestRecursiveEntity(null, "Root");
+		final TestRecursiveEntity child = new TestRecursiveEntity(root, "Child's child");
+		new TestRecursiveEntity(child, "Grandchild");
+
+		context.setCommitInterval(2 * 2 + 1);
+		try (Connection connection = openConnection()) {
+			try (JdbcEntitySqlGenerator generator = new JdbcEntitySqlGenerator(connection, context)) {
+				generator.setBatchSize(2 + 1);
+				generator.write(entities);
+				generator.write(root);
+			}
+			assertThat(connection.getAutoCommit()).isFalse();
+		}
+
+		assertThat(findResults(SimpleTestEntity.class)).hasSize(ENTITY_COUNT);
+		for (final SimpleTestEntity entity : entities) {
+			assertThat(findSingleResult("SELECT e FROM SimpleTestEntity e WHERE e.name = '" + entity.getName() + "'",
+					SimpleTestEntity.class).getId()).isEqualTo(entity.getId());
+		}
+		final TestRecursiveEntity grandchild = findSingleResult(
+				"SELECT e FROM TestRecursiveEntity e WHERE e.name = 'Grandchild'", TestRecursiveEntity.class);
+		assertThat(grandchild.getParent().getName()).isEqualTo("Child's child");
+		assertThat(grandchild.getParent().getParent().getName()).isEqualTo("Root");
+	}
+
+	/**
+	 * Tests to write entities with disabled constraints, which are enabled again when the generator is closed.
+	 *
+	 * @throws IOException
+	 *             if the generator throws one
+	 * @throws SQLException
+	 *             if the database throws one
+	 */
+	@Test
+	public void testDisableConstraints() throws IOException, SQLException {
+		final GeneratorContext context = new GeneratorContext();
+		context.setExplicitIds(true);
+		context.setDisableConstraints(true);
+		testWrite(context);
+	}
+
+	/**
+	 * Tests to write entities with explicit ids, which are bound as parameters.
+	 *
+	 * @throws IOException
+	 *             if the generator throws one
+	 * @throws SQLException
+	 *             if the database throws one
+	 */
+	@Test
+	public void testExplicitIds() throws IOException, SQLException {
+		final GeneratorContext context = new GeneratorContext();
+		context.setExplicitIds(true);
+		testWrite(context);
+	}
+
+	/**
+	 * Tests to write entities with ids from the database, which are written with plain SQL.
+	 *
+	 * @throws IOException
+	 *             if the generator throws one
+	 * @throws SQLException
+	 *             if the database throws one
+	 */
+	@Test
+	public void testGeneratedIds() throws IOException, SQLException {
+		testWrite(new GeneratorContext());
+	}
+
+}
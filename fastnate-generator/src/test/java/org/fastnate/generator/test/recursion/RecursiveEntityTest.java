@@ -1,9 +1,13 @@
 package org.fastnate.generator.test.recursion;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
 
 import java.io.IOException;
+import java.io.StringWriter;
 
+import org.apache.commons.lang.StringUtils;
+import org.fastnate.generator.EntitySqlGenerator;
 import org.fastnate.generator.test.AbstractEntitySqlGeneratorTest;
 import org.junit.Test;
 
@@ -14,6 +18,8 @@ import org.junit.Test;
  */
 public class RecursiveEntityTest extends AbstractEntitySqlGeneratorTest {
 
+	private static final int DEEP_RECURSION_LEVELS = 100000;
+
 	/**
 	 * Tests to write recursion.
 	 *
@@ -48,4 +54,47 @@ public class RecursiveEntityTest extends AbstractEntitySqlGeneratorTest {
 		assertThat(writtenChild2.getName()).isEqualTo(child2.getName());
 	}
 
+	/**
+	 * Tests to write a recursion that is deeper than the call stack.
+	 *
+	 * @throws IOException
+	 *             if the generator throws one
+	 */
+	@Test
+	public void testDeepRecursion() throws IOException {
+		final TestRecursiveEntity root = new TestRecursiveEntity(null, "Deep Root");
+		TestRecursiveEntity leaf = root;
+		for (int i = 0; i < DEEP_RECURSION_LEVELS; i++) {
+			leaf = new TestRecursiveEntity(leaf, "Deep Child " + i);
+		}
+
+		final StringWriter sql = new StringWriter();
+		try (EntitySqlGenerator generator = new EntitySqlGenerator(sql)) {
+			generator.write(leaf);
+		}
+		assertThat(StringUtils.countMatches(sql.toString(), "INSERT INTO")).isEqualTo(DEEP_RECURSION_LEVELS + 1);
+		assertThat(sql.toString()).startsWith("INSERT INTO TestRecursiveEntity (id, name) VALUES");
+		assertThat(leaf.getId()).isEqualTo(root.getId() + DEEP_RECURSION_LEVELS);
+	}
+
+	/**
+	 * Tests that we detect required references in an endless loop.
+	 *
+	 * @throws IOException
+	 *             if the generator throws one
+	 */
+	@Test
+	public void testRequiredRecursion() throws IOException {
+		final TestRequiredRecursiveEntity first = new TestRequiredRecursiveEntity();
+		final TestRequiredRecursiveEntity second = new TestRequiredRecursiveEntity();
+		first.setRequired(second);
+		second.setRequired(first);
+		try {
+			write(first);
+			fail("Endless loop not detected");
+		} catch (final IllegalArgumentException e) {
+			assertThat(e.getMessage()).contains("requires");
+		}
+	}
+
 }
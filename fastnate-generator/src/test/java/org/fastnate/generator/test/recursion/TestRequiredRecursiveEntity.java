@@ -0,0 +1,27 @@
+package org.fastnate.generator.test.recursion;
+
+import javax.persistence.Entity;
+import javax.persistence.ManyToOne;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import org.fastnate.generator.test.BaseTestEntity;
+
+/**
+ * Entity to test required references in an endless loop.
+ *
+ * @author Tobias Liefke
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+public class TestRequiredRecursiveEntity extends BaseTestEntity {
+
+	@ManyToOne(optional = false)
+	private TestRequiredRecursiveEntity required;
+
+}
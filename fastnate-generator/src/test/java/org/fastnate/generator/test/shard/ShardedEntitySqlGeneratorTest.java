@@ -0,0 +1,158 @@
+package org.fastnate.generator.test.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.fastnate.generator.ShardedEntitySqlGenerator;
+import org.fastnate.generator.context.GeneratorContext;
+import org.fastnate.generator.test.AbstractEntitySqlGeneratorTest;
+import org.fastnate.generator.test.SimpleTestEntity;
+import org.fastnate.generator.test.SqlEmWriter;
+import org.fastnate.generator.test.recursion.TestRecursiveEntity;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the {@link ShardedEntitySqlGenerator}.
+ *
+ * @author Tobias Liefke
+ */
+public class ShardedEntitySqlGeneratorTest extends AbstractEntitySqlGeneratorTest {
+
+	private static final int ENTITY_COUNT = 25;
+
+	private static final int MAX_SHARD_SIZE = 500;
+
+	/** The folder for the generated files. */
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	private void assertWritten() {
+		assertThat(findResults(SimpleTestEntity.class)).hasSize(ENTITY_COUNT);
+		final TestRecursiveEntity grandchild = findSingleResult(
+				"SELECT e FROM TestRecursiveEntity e WHERE e.name = 'Grandchild'", TestRecursiveEntity.class);
+		assertThat(grandchild.getParent().getName()).isEqualTo("Child");
+		assertThat(grandchild.getParent().getParent().getName()).isEqualTo("Root");
+	}
+
+	private void loadShards(final ShardedEntitySqlGenerator generator) throws IOException {
+		try (SqlEmWriter writer = new SqlEmWriter(getEm())) {
+			for (final File shard : generator.getShards()) {
+				writer.write(FileUtils.readFileToString(shard, StandardCharsets.UTF_8));
+			}
+		}
+	}
+
+	private List<String> readManifest(final ShardedEntitySqlGenerator generator) throws IOException {
+		final List<String> lines = FileUtils.readLines(generator.getManifest(), StandardCharsets.UTF_8);
+		assertThat(lines).hasSameSizeAs(generator.getShards());
+		return lines;
+	}
+
+	private ShardedEntitySqlGenerator write(final GeneratorContext context, final long maxShardSize,
+			final boolean splitTableGroups) throws IOException {
+		final ShardedEntitySqlGenerator generator = new ShardedEntitySqlGenerator(this.folder.getRoot(), "data",
+				StandardCharsets.UTF_8, context);
+		generator.setMaxShardSize(maxShardSize);
+		generator.setSplitTableGroups(splitTableGroups);
+		try {
+			for (int i = 0; i < ENTITY_COUNT; i++) {
+				generator.write(new SimpleTestEntity("Shard " + i));
+			}
+			final TestRecursiveEntity root = new TestRecursiveEntity(null, "Root");
+			final TestRecursiveEntity child = new TestRecursiveEntity(root, "Child");
+			new TestRecursiveEntity(child, "Grandchild");
+			generator.write(root);
+		} finally {
+			generator.close();
+		}
+		return generator;
+	}
+
+	/**
+	 * Tests that every shard disables and enables the constraints on its own.
+	 *
+	 * @throws IOException
+	 *             if the generator throws one
+	 */
+	@Test
+	public void testDisableConstraints() throws IOException {
+		final GeneratorContext context = new GeneratorContext();
+		context.setExplicitIds(true);
+		context.setMaxUniqueProperties(0);
+		context.setDisableConstraints(true);
+		final ShardedEntitySqlGenerator generator = write(context, 0, true);
+
+		assertThat(generator.getShards()).hasSize(2);
+		for (final File shard : generator.getShards()) {
+			assertThat(FileUtils.readFileToString(shard, StandardCharsets.UTF_8))
+					.startsWith("SET REFERENTIAL_INTEGRITY FALSE;\n").endsWith("SET REFERENTIAL_INTEGRITY TRUE;\n");
+		}
+
+		loadShards(generator);
+		assertWritten();
+	}
+
+	/**
+	 * Tests that identity variables are refused, as the shards may be loaded in different sessions.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testIdentityVariables() {
+		final GeneratorContext context = new GeneratorContext();
+		context.setIdentityVariables(2);
+		new ShardedEntitySqlGenerator(this.folder.getRoot(), "data", StandardCharsets.UTF_8, context);
+	}
+
+	/**
+	 * Tests to split the SQL by size, where every shard depends on its predecessor.
+	 *
+	 * @throws IOException
+	 *             if the generator throws one
+	 */
+	@Test
+	public void testMaxShardSize() throws IOException {
+		final ShardedEntitySqlGenerator generator = write(new GeneratorContext(), MAX_SHARD_SIZE, false);
+
+		final List<String> manifest = readManifest(generator);
+		assertThat(manifest.size()).isGreaterThan(2);
+		assertThat(manifest.get(0)).isEqualTo("data.1.sql:");
+		for (int i = 1; i < manifest.size(); i++) {
+			assertThat(manifest.get(i)).isEqualTo("data." + (i + 1) + ".sql: data." + i + ".sql");
+		}
+		for (final File shard : generator.getShards()) {
+			// Only the last statement may exceed the size
+			assertThat(shard.length()).isLessThan(2 * MAX_SHARD_SIZE);
+		}
+
+		loadShards(generator);
+		assertWritten();
+	}
+
+	/**
+	 * Tests to split the SQL by table, where shards of independent tables don't depend on each other.
+	 *
+	 * @throws IOException
+	 *             if the generator throws one
+	 */
+	@Test
+	public void testSplitTableGroups() throws IOException {
+		final GeneratorContext context = new GeneratorContext();
+		context.setExplicitIds(true);
+		context.setMaxUniqueProperties(0);
+		final ShardedEntitySqlGenerator generator = write(context, 0, true);
+
+		assertThat(readManifest(generator)).containsExactly("data.1.sql:", "data.2.sql:");
+		assertThat(FileUtils.readFileToString(generator.getShards().get(0), StandardCharsets.UTF_8))
+				.contains("INSERT INTO SimpleTest").doesNotContain("INSERT INTO TestRecursiveEntity");
+
+		loadShards(generator);
+		assertWritten();
+	}
+
+}
@@ -0,0 +1,92 @@
+package org.fastnate.generator.test.staging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringWriter;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang.StringUtils;
+import org.fastnate.generator.StagingEntitySqlGenerator;
+import org.fastnate.generator.context.GeneratorContext;
+import org.fastnate.generator.dialect.OracleDialect;
+import org.fastnate.generator.test.AbstractEntitySqlGeneratorTest;
+import org.fastnate.generator.test.recursion.TestRecursiveEntity;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.Test;
+
+/**
+ * Tests the {@link StagingEntitySqlGenerator}.
+ *
+ * @author Tobias Liefke
+ */
+public class StagingEntitySqlGeneratorTest extends AbstractEntitySqlGeneratorTest {
+
+	private static final int REFERENCE_COUNT = 3;
+
+	private static final int ENTITY_COUNT = 20;
+
+	/**
+	 * Tests to resolve the references to entities with unique properties by a staging table.
+	 *
+	 * @throws Exception
+	 *             if Hibernate, the database or the generator throws one
+	 */
+	@Test
+	public void testStagingTable() throws Exception {
+		final List<TestRecursiveEntity> references = new ArrayList<>();
+		for (int i = 0; i < REFERENCE_COUNT; i++) {
+			references.add(new TestRecursiveEntity(null, "Staging reference " + i));
+		}
+		final List<StagingTestEntity> entities = new ArrayList<>();
+		for (int i = 0; i < ENTITY_COUNT; i++) {
+			entities.add(new StagingTestEntity("Staging " + i, references.get(i % REFERENCE_COUNT)));
+		}
+
+		final StringWriter sql = new StringWriter();
+		try (StagingEntitySqlGenerator generator = new StagingEntitySqlGenerator(sql, new GeneratorContext())) {
+			generator.setMinStagingRows(ENTITY_COUNT / 2);
+			generator.write(references);
+			generator.write(entities);
+		}
+		assertThat(sql.toString()).contains("CREATE LOCAL TEMPORARY TABLE fastnate_staging_")
+				.contains(" LEFT JOIN TestRecursiveEntity r0 ON r0.name = s.fastnate_key_0")
+				.contains("DROP TABLE fastnate_staging_");
+
+		// The staging table is only visible for the current session, so we need to use the same connection
+		try (Connection connection = getEm().getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+				.getServiceRegistry().getService(ConnectionProvider.class).getConnection()) {
+			try (Statement statement = connection.createStatement()) {
+				for (final String line : StringUtils.split(sql.toString(), '\n')) {
+					statement.execute(StringUtils.removeEnd(line, ";"));
+				}
+			}
+			if (!connection.getAutoCommit()) {
+				connection.commit();
+			}
+		}
+
+		assertThat(findResults(StagingTestEntity.class)).hasSize(ENTITY_COUNT);
+		for (final StagingTestEntity entity : entities) {
+			final StagingTestEntity result = findSingleResult(
+					"SELECT e FROM StagingTestEntity e WHERE e.name = '" + entity.getName() + "'",
+					StagingTestEntity.class);
+			assertThat(result.getId()).isEqualTo(entity.getId());
+			assertThat(result.getReference().getName()).isEqualTo(entity.getReference().getName());
+		}
+	}
+
+	/**
+	 * Tests that staging tables are only used for supported dialects.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnsupportedDialect() {
+		final GeneratorContext context = new GeneratorContext();
+		context.setDialect(new OracleDialect());
+		new StagingEntitySqlGenerator(new StringWriter(), context);
+	}
+
+}
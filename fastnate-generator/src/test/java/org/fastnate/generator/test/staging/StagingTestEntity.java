@@ -0,0 +1,44 @@
+package org.fastnate.generator.test.staging;
+
+import javax.persistence.Entity;
+import javax.persistence.ManyToOne;
+import javax.validation.constraints.NotNull;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import org.fastnate.generator.test.BaseTestEntity;
+import org.fastnate.generator.test.recursion.TestRecursiveEntity;
+
+/**
+ * Entity to test the resolution of references by staging tables.
+ *
+ * @author Tobias Liefke
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StagingTestEntity extends BaseTestEntity {
+
+	@NotNull
+	private String name;
+
+	/** Referenced by its unique name. */
+	@ManyToOne
+	private TestRecursiveEntity reference;
+
+	/**
+	 * Creates a new instance of {@link StagingTestEntity}.
+	 *
+	 * @param name
+	 *            the name of the entity
+	 * @param reference
+	 *            the referenced entity
+	 */
+	public StagingTestEntity(final String name, final TestRecursiveEntity reference) {
+		this.name = name;
+		this.reference = reference;
+	}
+
+}